@@ -0,0 +1,166 @@
+package slimeknights.mantle.client.render;
+
+import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.vertex.PoseStack;
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Vector3f;
+import net.minecraft.client.renderer.texture.TextureAtlas;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.client.resources.metadata.animation.AnimationMetadataSection;
+import net.minecraft.core.Direction;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import slimeknights.mantle.client.model.fluid.FluidCuboid;
+import slimeknights.mantle.client.model.fluid.FluidCuboid.FluidFace;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks rendering a frame of 500 fluid tanks, comparing cached templates to computing each quad.
+ * Requires the Minecraft client classes and the LWJGL natives on the classpath to allocate sprite images, but not a running game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FluidRendererBenchmark {
+  /** Number of tanks rendered each frame */
+  private static final int TANKS = 500;
+  /** Number of distinct fluids in the tanks */
+  private static final int FLUIDS = 4;
+
+  private final NativeImage[] images = new NativeImage[FLUIDS * 2];
+  private FluidCuboid cube;
+  private final TextureAtlasSprite[] still = new TextureAtlasSprite[TANKS];
+  private final TextureAtlasSprite[] flowing = new TextureAtlasSprite[TANKS];
+  private final boolean[] isGas = new boolean[TANKS];
+  private final float[] heights = new float[TANKS];
+  /** Partial height cuboid tops, for the path computing each quad */
+  private final Vector3f[] tops = new Vector3f[TANKS];
+  private final PoseStack matrices = new PoseStack();
+  private final CountingConsumer consumer = new CountingConsumer();
+
+  @Setup
+  public void setup() {
+    Map<Direction,FluidFace> faces = new EnumMap<>(Direction.class);
+    for (Direction direction : Direction.values()) {
+      faces.put(direction, direction.getAxis() == Direction.Axis.Y ? FluidFace.NORMAL : new FluidFace(true, 0));
+    }
+    // all tanks share the cuboid from their model, like tank block entities
+    cube = new FluidCuboid(new Vector3f(1, 1, 1), new Vector3f(15, 15, 15), faces);
+
+    TextureAtlas atlas = new TextureAtlas(new ResourceLocation("benchmark", "atlas"));
+    TextureAtlasSprite[] sprites = new TextureAtlasSprite[FLUIDS * 2];
+    for (int i = 0; i < sprites.length; i++) {
+      images[i] = new NativeImage(16, 16, false);
+      sprites[i] = new Sprite(atlas, new TextureAtlasSprite.Info(new ResourceLocation("benchmark", "fluid_" + i), 16, 16, AnimationMetadataSection.EMPTY), i, images[i]);
+    }
+    for (int i = 0; i < TANKS; i++) {
+      int fluid = i % FLUIDS;
+      // last fluid is a gas sharing the still texture of the first, so both must have separate templates
+      if (fluid == FLUIDS - 1) {
+        still[i] = sprites[0];
+        isGas[i] = true;
+      } else {
+        still[i] = sprites[fluid * 2];
+      }
+      flowing[i] = sprites[fluid * 2 + 1];
+      heights[i] = (i % 16 + 1) / 16f;
+      Vector3f from = cube.getFromScaled();
+      Vector3f top = cube.getToScaled().copy();
+      top.setY(from.y() + heights[i] * (top.y() - from.y()));
+      tops[i] = top;
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    for (NativeImage image : images) {
+      image.close();
+    }
+  }
+
+  @Benchmark
+  public int renderTemplates() {
+    consumer.vertices = 0;
+    for (int i = 0; i < TANKS; i++) {
+      cube.getTemplate(still[i], flowing[i], isGas[i]).renderScaled(matrices.last().pose(), consumer, 0xFFFFFFFF, 0xF000F0, heights[i], isGas[i]);
+    }
+    return consumer.vertices;
+  }
+
+  @Benchmark
+  public int renderQuads() {
+    consumer.vertices = 0;
+    for (int i = 0; i < TANKS; i++) {
+      FluidRenderer.renderCuboid(matrices, consumer, cube, still[i], flowing[i], cube.getFromScaled(), tops[i], 0xFFFFFFFF, 0xF000F0, isGas[i]);
+    }
+    return consumer.vertices;
+  }
+
+  /** Sprite on a 256x16 atlas, as the constructor is protected */
+  private static class Sprite extends TextureAtlasSprite {
+    private Sprite(TextureAtlas atlas, Info info, int index, NativeImage image) {
+      super(atlas, info, 0, 256, 16, index * 16, 0, image);
+    }
+  }
+
+  /** Vertex consumer that sums the vertex data, so the JIT cannot remove the rendering */
+  private static class CountingConsumer implements VertexConsumer {
+    private int vertices = 0;
+    private double sum = 0;
+
+    @Override
+    public VertexConsumer vertex(double x, double y, double z) {
+      sum += x + y + z;
+      return this;
+    }
+
+    @Override
+    public VertexConsumer color(int red, int green, int blue, int alpha) {
+      sum += red;
+      return this;
+    }
+
+    @Override
+    public VertexConsumer uv(float u, float v) {
+      sum += u + v;
+      return this;
+    }
+
+    @Override
+    public VertexConsumer overlayCoords(int u, int v) {
+      return this;
+    }
+
+    @Override
+    public VertexConsumer uv2(int u, int v) {
+      sum += u;
+      return this;
+    }
+
+    @Override
+    public VertexConsumer normal(float x, float y, float z) {
+      return this;
+    }
+
+    @Override
+    public void endVertex() {
+      vertices++;
+    }
+
+    @Override
+    public void defaultColor(int red, int green, int blue, int alpha) {}
+
+    @Override
+    public void unsetDefaultColor() {}
+  }
+}
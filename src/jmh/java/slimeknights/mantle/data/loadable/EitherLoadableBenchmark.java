@@ -0,0 +1,94 @@
+package slimeknights.mantle.data.loadable;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import slimeknights.mantle.data.loadable.mapping.EitherLoadable;
+import slimeknights.mantle.data.loadable.primitive.IntLoadable;
+import slimeknights.mantle.data.loadable.primitive.StringLoadable;
+import slimeknights.mantle.data.loadable.record.RecordLoadable;
+
+import java.util.concurrent.TimeUnit;
+
+/** Benchmarks for choosing a loadable in {@link EitherLoadable} by key */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EitherLoadableBenchmark {
+  /** Common interface for all options */
+  public interface Option extends IAmLoadable.Record {}
+
+  public record First(int first) implements Option {
+    public static final RecordLoadable<First> LOADABLE = RecordLoadable.create(IntLoadable.ANY_FULL.requiredField("first", First::first), First::new);
+
+    @Override
+    public RecordLoadable<First> loadable() {
+      return LOADABLE;
+    }
+  }
+
+  public record Second(String second) implements Option {
+    public static final RecordLoadable<Second> LOADABLE = RecordLoadable.create(StringLoadable.DEFAULT.requiredField("second", Second::second), Second::new);
+
+    @Override
+    public RecordLoadable<Second> loadable() {
+      return LOADABLE;
+    }
+  }
+
+  public record Third(int third, int extra) implements Option {
+    public static final RecordLoadable<Third> LOADABLE = RecordLoadable.create(
+      IntLoadable.ANY_FULL.requiredField("third", Third::third),
+      IntLoadable.ANY_FULL.defaultField("extra", 0, Third::extra),
+      Third::new);
+
+    @Override
+    public RecordLoadable<Third> loadable() {
+      return LOADABLE;
+    }
+  }
+
+  private static final RecordLoadable<Option> LOADABLE = EitherLoadable.<Option>record()
+    .key("first", First.LOADABLE)
+    .key("second", Second.LOADABLE)
+    .key("third", Third.LOADABLE)
+    .build();
+
+  private JsonObject firstJson;
+  private JsonObject thirdJson;
+  private Option third;
+  private FriendlyByteBuf buffer;
+
+  @Setup
+  public void setup() {
+    firstJson = JsonParser.parseString("{\"first\": 1}").getAsJsonObject();
+    thirdJson = JsonParser.parseString("{\"third\": 3, \"extra\": 4}").getAsJsonObject();
+    third = LOADABLE.deserialize(thirdJson);
+    buffer = new FriendlyByteBuf(Unpooled.buffer());
+  }
+
+  @Benchmark
+  public Option deserializeFirstKey() {
+    return LOADABLE.deserialize(firstJson);
+  }
+
+  @Benchmark
+  public Option deserializeLastKey() {
+    return LOADABLE.deserialize(thirdJson);
+  }
+
+  @Benchmark
+  public Option roundTrip() {
+    buffer.clear();
+    LOADABLE.encode(buffer, third);
+    return LOADABLE.decode(buffer);
+  }
+}
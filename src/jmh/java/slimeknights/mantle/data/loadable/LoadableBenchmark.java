@@ -0,0 +1,120 @@
+package slimeknights.mantle.data.loadable;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import slimeknights.mantle.data.loadable.primitive.BooleanLoadable;
+import slimeknights.mantle.data.loadable.primitive.FloatLoadable;
+import slimeknights.mantle.data.loadable.primitive.IntLoadable;
+import slimeknights.mantle.data.loadable.primitive.StringLoadable;
+import slimeknights.mantle.data.loadable.record.RecordLoadable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Benchmarks for primitive loadables and record loadables, both JSON and network */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LoadableBenchmark {
+  /** Record with 8 fields, similar in shape to a typical recipe */
+  public record Sample(int count, float chance, boolean optional, String name, List<Integer> values, int priority, String group, float weight) {
+    public static final RecordLoadable<Sample> LOADABLE = RecordLoadable.create(
+      IntLoadable.FROM_ZERO.requiredField("count", Sample::count),
+      FloatLoadable.PERCENT.defaultField("chance", 1f, Sample::chance),
+      BooleanLoadable.INSTANCE.defaultField("optional", false, Sample::optional),
+      StringLoadable.DEFAULT.requiredField("name", Sample::name),
+      IntLoadable.ANY_FULL.list(1).requiredField("values", Sample::values),
+      IntLoadable.ANY_SHORT.defaultField("priority", 0, Sample::priority),
+      StringLoadable.DEFAULT.defaultField("group", "", Sample::group),
+      FloatLoadable.FROM_ZERO.requiredField("weight", Sample::weight),
+      Sample::new);
+  }
+
+  /** Integer list loadable, created once as creating it is not part of the conversion */
+  private static final Loadable<List<Integer>> INT_LIST = IntLoadable.ANY_FULL.list(1);
+
+  private JsonElement intJson;
+  private JsonElement stringJson;
+  private JsonElement listJson;
+  private JsonObject sampleJson;
+  private Sample sample;
+  private FriendlyByteBuf writeBuffer;
+  private FriendlyByteBuf readBuffer;
+
+  @Setup
+  public void setup() {
+    intJson = new JsonPrimitive(12345);
+    stringJson = new JsonPrimitive("benchmark");
+    listJson = JsonParser.parseString("[1, 2, 3, 4, 5, 6, 7, 8]");
+    sampleJson = JsonParser.parseString("""
+      {
+        "count": 4,
+        "chance": 0.5,
+        "optional": true,
+        "name": "sample",
+        "values": [1, 2, 3, 4],
+        "priority": 10,
+        "group": "benchmark",
+        "weight": 2.5
+      }""").getAsJsonObject();
+    sample = Sample.LOADABLE.deserialize(sampleJson);
+    writeBuffer = new FriendlyByteBuf(Unpooled.buffer());
+    readBuffer = new FriendlyByteBuf(Unpooled.buffer());
+    Sample.LOADABLE.encode(readBuffer, sample);
+  }
+
+
+  /* JSON */
+
+  @Benchmark
+  public Integer convertInt() {
+    return IntLoadable.ANY_FULL.convert(intJson, "int");
+  }
+
+  @Benchmark
+  public String convertString() {
+    return StringLoadable.DEFAULT.convert(stringJson, "string");
+  }
+
+  @Benchmark
+  public List<Integer> convertList() {
+    return INT_LIST.convert(listJson, "list");
+  }
+
+  @Benchmark
+  public Sample deserializeRecord() {
+    return Sample.LOADABLE.deserialize(sampleJson);
+  }
+
+  @Benchmark
+  public JsonElement serializeRecord() {
+    return Sample.LOADABLE.serialize(sample);
+  }
+
+
+  /* Network */
+
+  @Benchmark
+  public Sample roundTripRecord() {
+    writeBuffer.clear();
+    Sample.LOADABLE.encode(writeBuffer, sample);
+    return Sample.LOADABLE.decode(writeBuffer);
+  }
+
+  @Benchmark
+  public Sample decodeRecord() {
+    readBuffer.readerIndex(0);
+    return Sample.LOADABLE.decode(readBuffer);
+  }
+}
@@ -0,0 +1,170 @@
+package slimeknights.mantle.data.predicate;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import slimeknights.mantle.data.loadable.primitive.IntLoadable;
+import slimeknights.mantle.data.loadable.record.RecordLoadable;
+import slimeknights.mantle.data.registry.GenericLoaderRegistry.IGenericLoader;
+import slimeknights.mantle.data.registry.GenericLoaderRegistry.SingletonLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for parsing and evaluating the and, or, and inverted predicates from {@link PredicateRegistry}, using a registry of integer predicates.
+ * The registry names its types using {@link slimeknights.mantle.Mantle#getResource(String)}, so this loads the mod class, but does not need the game bootstrapped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PredicateRegistryBenchmark {
+  /** Predicate matching all integers */
+  private static final IJsonPredicate<Integer> ANY = SingletonLoader.singleton(loader -> new IJsonPredicate<Integer>() {
+    @Override
+    public boolean matches(Integer input) {
+      return true;
+    }
+
+    @Override
+    public IJsonPredicate<Integer> inverted() {
+      return PredicateRegistryBenchmark.REGISTRY.invert(this);
+    }
+
+    @Override
+    public IGenericLoader<? extends IJsonPredicate<Integer>> getLoader() {
+      return loader;
+    }
+  });
+  /** Registry for integer predicates */
+  private static final PredicateRegistry<Integer> REGISTRY = new PredicateRegistry<>("Benchmark Predicate", ANY);
+
+  /** Predicate matching integers in a range */
+  public record RangePredicate(int min, int max) implements IJsonPredicate<Integer> {
+    public static final RecordLoadable<RangePredicate> LOADER = RecordLoadable.create(
+      IntLoadable.ANY_FULL.requiredField("min", RangePredicate::min),
+      IntLoadable.ANY_FULL.requiredField("max", RangePredicate::max),
+      RangePredicate::new);
+
+    @Override
+    public boolean matches(Integer input) {
+      return min <= input && input <= max;
+    }
+
+    @Override
+    public IJsonPredicate<Integer> inverted() {
+      return REGISTRY.invert(this);
+    }
+
+    @Override
+    public IGenericLoader<? extends IJsonPredicate<Integer>> getLoader() {
+      return LOADER;
+    }
+  }
+
+  static {
+    REGISTRY.register(new ResourceLocation("benchmark", "range"), RangePredicate.LOADER);
+  }
+
+  private static final String AND = """
+    {
+      "type": "mantle:and",
+      "predicates": [
+        { "type": "benchmark:range", "min": 0, "max": 100 },
+        { "type": "benchmark:range", "min": 10, "max": 90 },
+        { "type": "benchmark:range", "min": 20, "max": 80 },
+        "mantle:any"
+      ]
+    }""";
+  private static final String OR = """
+    {
+      "type": "mantle:or",
+      "predicates": [
+        { "type": "benchmark:range", "min": 0, "max": 10 },
+        { "type": "benchmark:range", "min": 20, "max": 30 },
+        { "type": "benchmark:range", "min": 40, "max": 50 },
+        { "type": "benchmark:range", "min": 60, "max": 100 }
+      ]
+    }""";
+  private static final String INVERTED = """
+    {
+      "type": "mantle:inverted",
+      "inverted_type": "benchmark:range",
+      "min": 25,
+      "max": 75
+    }""";
+  private static final String NESTED = """
+    {
+      "type": "mantle:and",
+      "predicates": [
+        %s,
+        %s,
+        {
+          "type": "mantle:or",
+          "predicates": [%s, "mantle:any"]
+        }
+      ]
+    }""".formatted(OR, INVERTED, AND);
+
+  /** Inputs to test, covering both matches and misses */
+  private final Integer[] inputs = new Integer[128];
+  private JsonElement nestedJson;
+  private IJsonPredicate<Integer> and;
+  private IJsonPredicate<Integer> or;
+  private IJsonPredicate<Integer> inverted;
+  private IJsonPredicate<Integer> nested;
+
+  @Setup
+  public void setup() {
+    for (int i = 0; i < inputs.length; i++) {
+      inputs[i] = i - 14;
+    }
+    nestedJson = JsonParser.parseString(NESTED);
+    and = REGISTRY.convert(JsonParser.parseString(AND), "and");
+    or = REGISTRY.convert(JsonParser.parseString(OR), "or");
+    inverted = REGISTRY.convert(JsonParser.parseString(INVERTED), "inverted");
+    nested = REGISTRY.convert(nestedJson, "nested");
+  }
+
+  /** Counts the number of inputs matching the predicate */
+  private int count(IJsonPredicate<Integer> predicate) {
+    int matches = 0;
+    for (Integer input : inputs) {
+      if (predicate.matches(input)) {
+        matches++;
+      }
+    }
+    return matches;
+  }
+
+  @Benchmark
+  public IJsonPredicate<Integer> parseNested() {
+    return REGISTRY.convert(nestedJson, "nested");
+  }
+
+  @Benchmark
+  public int matchAnd() {
+    return count(and);
+  }
+
+  @Benchmark
+  public int matchOr() {
+    return count(or);
+  }
+
+  @Benchmark
+  public int matchInverted() {
+    return count(inverted);
+  }
+
+  @Benchmark
+  public int matchNested() {
+    return count(nested);
+  }
+}
@@ -0,0 +1,98 @@
+package slimeknights.mantle.data.registry;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonPrimitive;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import slimeknights.mantle.data.loadable.primitive.IntLoadable;
+import slimeknights.mantle.data.loadable.primitive.StringLoadable;
+import slimeknights.mantle.data.loadable.record.RecordLoadable;
+import slimeknights.mantle.data.registry.GenericLoaderRegistry.IHaveLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/** Benchmarks for {@link GenericLoaderRegistry} type dispatch, using a registry of benchmark only types */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class GenericLoaderRegistryBenchmark {
+  /** Common interface for all registered types */
+  public interface Shape extends IHaveLoader {}
+
+  public record Circle(int radius) implements Shape {
+    public static final RecordLoadable<Circle> LOADER = RecordLoadable.create(IntLoadable.FROM_ZERO.defaultField("radius", 1, Circle::radius), Circle::new);
+
+    @Override
+    public RecordLoadable<Circle> getLoader() {
+      return LOADER;
+    }
+  }
+
+  public record Rectangle(int width, int height, String name) implements Shape {
+    public static final RecordLoadable<Rectangle> LOADER = RecordLoadable.create(
+      IntLoadable.FROM_ZERO.requiredField("width", Rectangle::width),
+      IntLoadable.FROM_ZERO.requiredField("height", Rectangle::height),
+      StringLoadable.DEFAULT.defaultField("name", "", Rectangle::name),
+      Rectangle::new);
+
+    @Override
+    public RecordLoadable<Rectangle> getLoader() {
+      return LOADER;
+    }
+  }
+
+  private static final GenericLoaderRegistry<Shape> REGISTRY = new GenericLoaderRegistry<>("Benchmark Shape", true);
+  static {
+    // a few extra registrations so the lookup is not trivially small
+    for (int i = 0; i < 32; i++) {
+      // loaders are stored in a bimap, so each filler needs a distinct loader
+      REGISTRY.register(new ResourceLocation("benchmark", "filler_" + i), RecordLoadable.create(IntLoadable.FROM_ZERO.defaultField("radius", i, Circle::radius), Circle::new));
+    }
+    REGISTRY.register(new ResourceLocation("benchmark", "circle"), Circle.LOADER);
+    REGISTRY.register(new ResourceLocation("benchmark", "rectangle"), Rectangle.LOADER);
+  }
+
+  private JsonElement objectJson;
+  private JsonElement compactJson;
+  private Shape rectangle;
+  private FriendlyByteBuf buffer;
+
+  @Setup
+  public void setup() {
+    objectJson = JsonParser.parseString("{\"type\": \"benchmark:rectangle\", \"width\": 4, \"height\": 5, \"name\": \"box\"}");
+    compactJson = new JsonPrimitive("benchmark:circle");
+    rectangle = REGISTRY.convert(objectJson, "shape");
+    buffer = new FriendlyByteBuf(Unpooled.buffer());
+  }
+
+  @Benchmark
+  public Shape convertObject() {
+    return REGISTRY.convert(objectJson, "shape");
+  }
+
+  @Benchmark
+  public Shape convertCompact() {
+    return REGISTRY.convert(compactJson, "shape");
+  }
+
+  @Benchmark
+  public JsonElement serialize() {
+    return REGISTRY.serialize(rectangle);
+  }
+
+  @Benchmark
+  public Shape roundTrip() {
+    buffer.clear();
+    REGISTRY.encode(buffer, rectangle);
+    return REGISTRY.decode(buffer);
+  }
+}
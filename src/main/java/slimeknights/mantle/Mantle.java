@@ -27,10 +27,12 @@ import net.minecraftforge.registries.ForgeRegistries;
 import net.minecraftforge.registries.RegisterEvent;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import slimeknights.mantle.block.entity.MantleBlockEntity;
 import slimeknights.mantle.block.entity.MantleSignBlockEntity;
 import slimeknights.mantle.client.ClientEvents;
 import slimeknights.mantle.command.MantleCommand;
 import slimeknights.mantle.config.Config;
+import slimeknights.mantle.data.predicate.CachedPredicate;
 import slimeknights.mantle.data.predicate.block.BlockPredicate;
 import slimeknights.mantle.data.predicate.block.BlockPropertiesPredicate;
 import slimeknights.mantle.data.predicate.damage.DamageSourcePredicate;
@@ -108,7 +110,9 @@ public class Mantle {
     MantleCommand.init();
     OffhandCooldownTracker.init();
     TagPreference.init();
+    CachedPredicate.init();
     LootTableInjector.init();
+    MantleBlockEntity.init();
   }
 
   private void register(RegisterEvent event) {
@@ -1,5 +1,7 @@
 package slimeknights.mantle.block.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import lombok.Getter;
 import net.minecraft.core.BlockPos;
 import net.minecraft.core.Direction;
@@ -8,6 +10,7 @@ import net.minecraft.nbt.CompoundTag;
 import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.Container;
 import net.minecraft.world.MenuProvider;
 import net.minecraft.world.Nameable;
@@ -21,10 +24,13 @@ import net.minecraftforge.common.util.LazyOptional;
 import net.minecraftforge.items.CapabilityItemHandler;
 import net.minecraftforge.items.IItemHandlerModifiable;
 import net.minecraftforge.items.wrapper.InvWrapper;
+import slimeknights.mantle.network.MantleNetwork;
+import slimeknights.mantle.network.packet.InventorySlotsPacket;
 import slimeknights.mantle.util.ItemStackList;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.BitSet;
 
 // Updated version of InventoryLogic in Mantle. Also contains a few bugfixes DOES NOT OVERRIDE createMenu
 public abstract class InventoryBlockEntity extends NameableBlockEntity implements Container, MenuProvider, Nameable {
@@ -39,6 +45,12 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
   @Getter
   protected IItemHandlerModifiable itemHandler;
   protected LazyOptional<IItemHandlerModifiable> itemHandlerCap;
+  /** Slots changed since the last call to {@link #syncDirtySlots()} */
+  private final BitSet dirtySlots = new BitSet();
+  /** If true, the inventory size changed since the last call to {@link #syncDirtySlots()} */
+  private boolean sizeChanged = false;
+  /** If true, {@link #markForSync()} was called so the next scheduled sync sends the full update tag */
+  private boolean fullSyncPending = false;
 
   /**
    * @param name Localization String for the inventory title. Can be overridden through setCustomName
@@ -103,10 +115,13 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
       newInventory.set(i, this.inventory.get(i));
     }
     this.inventory = newInventory;
+    this.sizeChanged = true;
+    this.dirtySlots.set(0, size);
   }
 
   public void resize(int size) {
     this.resizeInternal(size);
+    this.scheduleSlotSync();
     this.setChangedFast();
   }
 
@@ -132,11 +147,24 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
     if (!itemstack.isEmpty() && itemstack.getCount() > this.getMaxStackSize()) {
       itemstack.setCount(this.getMaxStackSize());
     }
-    if (!ItemStack.matches(current, itemstack)) {
+    // setting the same instance usually means it was modified in place, so we cannot compare against it
+    if (current == itemstack || !ItemStack.matches(current, itemstack)) {
+      this.markSlotDirty(slot);
       this.setChangedFast();
     }
   }
 
+  /**
+   * Marks the given slot as changed, for syncing and saving. Call if you modify a stack from {@link #getItem(int)} directly.
+   * @param slot  Slot that changed
+   */
+  public void markSlotDirty(int slot) {
+    if (slot >= 0 && slot < this.inventory.size()) {
+      this.dirtySlots.set(slot);
+      this.scheduleSlotSync();
+    }
+  }
+
   @Override
   public ItemStack removeItem(int slot, int quantity) {
     if (quantity <= 0) {
@@ -157,6 +185,7 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
 
     // split itemstack
     itemStack = itemStack.split(quantity);
+    this.markSlotDirty(slot);
     // slot is empty, set to ItemStack.EMPTY
     // isn't this redundant to the above check?
     if (this.getItem(slot).getCount() == 0) {
@@ -188,6 +217,8 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
     for (int i = 0; i < this.inventory.size(); i++) {
       this.inventory.set(i, ItemStack.EMPTY);
     }
+    this.dirtySlots.set(0, this.inventory.size());
+    this.scheduleSlotSync();
   }
 
   /* Supporting methods */
@@ -225,12 +256,18 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
     if (saveSizeToNBT) {
       tags.putInt(TAG_INVENTORY_SIZE, this.inventory.size());
     }
+    if (shouldSyncInventory()) {
+      this.writeInventoryToNBT(tags);
+    }
   }
   
   @Override
   public void saveAdditional(CompoundTag tags) {
     super.saveAdditional(tags);
-    this.writeInventoryToNBT(tags);
+    // if synced, already written in saveSynced
+    if (!shouldSyncInventory()) {
+      this.writeInventoryToNBT(tags);
+    }
   }
 
   /**
@@ -271,6 +308,79 @@ public abstract class InventoryBlockEntity extends NameableBlockEntity implement
         this.inventory.set(slot, stack);
       }
     }
+    this.dirtySlots.set(0, this.inventory.size());
+  }
+
+
+  /* Syncing */
+
+  /**
+   * If true, the inventory is included in the update tag and changed slots are sent to clients by {@link #syncDirtySlots()}
+   */
+  protected boolean shouldSyncInventory() {
+    return false;
+  }
+
+  /** Schedules sending the dirty slots at the end of the tick, if {@link #shouldSyncInventory()} is true */
+  private void scheduleSlotSync() {
+    if (shouldSyncInventory()) {
+      this.scheduleSync();
+    }
+  }
+
+  @Override
+  public void markForSync() {
+    this.fullSyncPending = true;
+    super.markForSync();
+  }
+
+  /** Sends the full update tag if {@link #markForSync()} was called, otherwise just the slots that changed */
+  @Override
+  protected void sendScheduledSync() {
+    if (this.fullSyncPending) {
+      this.fullSyncPending = false;
+      super.sendScheduledSync();
+      // full sync includes the inventory if synced
+      this.dirtySlots.clear();
+      this.sizeChanged = false;
+    } else {
+      this.syncDirtySlots();
+    }
+  }
+
+  /**
+   * Sends all slots changed since the last call to clients tracking this block, if {@link #shouldSyncInventory()} is true.
+   * Called automatically at the end of the tick after slots change, so only needed to send changes sooner.
+   */
+  public void syncDirtySlots() {
+    if (this.level instanceof ServerLevel serverLevel && !this.dirtySlots.isEmpty()) {
+      if (shouldSyncInventory()) {
+        Int2ObjectMap<ItemStack> slots = new Int2ObjectArrayMap<>(this.dirtySlots.cardinality());
+        for (int slot = this.dirtySlots.nextSetBit(0); slot >= 0 && slot < this.inventory.size(); slot = this.dirtySlots.nextSetBit(slot + 1)) {
+          slots.put(slot, this.inventory.get(slot).copy());
+        }
+        MantleNetwork.INSTANCE.sendToClientsAround(new InventorySlotsPacket(this.worldPosition, this.sizeChanged ? this.inventory.size() : -1, slots), serverLevel, this.worldPosition);
+      }
+      this.dirtySlots.clear();
+      this.sizeChanged = false;
+    }
+  }
+
+  /**
+   * Updates slots from {@link InventorySlotsPacket} on the client
+   * @param size   New inventory size, or -1 if unchanged
+   * @param slots  Map of slot index to new stack
+   */
+  public void updateSlots(int size, Int2ObjectMap<ItemStack> slots) {
+    if (size >= 0) {
+      this.resizeInternal(size);
+    }
+    for (Int2ObjectMap.Entry<ItemStack> entry : slots.int2ObjectEntrySet()) {
+      int slot = entry.getIntKey();
+      if (slot < this.inventory.size()) {
+        this.inventory.set(slot, entry.getValue());
+      }
+    }
   }
 
   @Override
@@ -1,16 +1,38 @@
 package slimeknights.mantle.block.entity;
 
+import it.unimi.dsi.fastutil.objects.ReferenceLinkedOpenHashSet;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.event.server.ServerStoppedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 
 import javax.annotation.Nullable;
+import java.util.Iterator;
+import java.util.Set;
 
 public class MantleBlockEntity extends BlockEntity {
+  /** Block entities waiting to send a scheduled sync, only accessed on the server thread */
+  private static final Set<MantleBlockEntity> PENDING_SYNC = new ReferenceLinkedOpenHashSet<>();
+
+  /** Game time of the last scheduled sync, -1 if never synced */
+  private long lastSyncTime = -1;
+  /** Update tag built since the last change if {@link #shouldCacheUpdateTag()}, copied for each update packet until something changes */
+  @Nullable
+  private CompoundTag cachedUpdateTag = null;
+  /** Game time when {@link #cachedUpdateTag} was built */
+  private long cachedUpdateTime = -1;
 
   public MantleBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
     super(type, pos, state);
@@ -26,19 +48,26 @@ public class MantleBlockEntity extends BlockEntity {
    */
   @SuppressWarnings("deprecation")
   public void setChangedFast() {
+    this.cachedUpdateTag = null;
     if (level != null) {
       if (level.hasChunkAt(worldPosition)) {
         level.getChunkAt(worldPosition).setUnsaved(true);
       }
     }
   }
+
+  @Override
+  public void setChanged() {
+    this.cachedUpdateTag = null;
+    super.setChanged();
+  }
   
   
   /* Syncing */
 
   /**
    * If true, this TE syncs when {@link net.minecraft.world.level.Level#blockUpdated(BlockPos, Block) is called
-   * Syncs data from {@link #saveSynced(CompoundTag)}
+   * Syncs data from {@link #saveSynced(CompoundTag)}. Independent of {@link #markForSync()}, which syncs regardless of this value.
    */
   protected boolean shouldSyncOnUpdate() {
     return false;
@@ -57,11 +86,101 @@ public class MantleBlockEntity extends BlockEntity {
    */
   protected void saveSynced(CompoundTag nbt) {}
 
+  /**
+   * If true, {@link #getUpdateTag()} reuses the tag from {@link #saveSynced(CompoundTag)} for the rest of the game tick.
+   * Only enable if every change to synced data calls {@link #setChanged()}, {@link #setChangedFast()}, or {@link #markForSync()}, otherwise clients may receive stale data.
+   */
+  protected boolean shouldCacheUpdateTag() {
+    return false;
+  }
+
   @Override
   public CompoundTag getUpdateTag() {
-    CompoundTag nbt = new CompoundTag();
-    saveSynced(nbt);
-    return nbt;
+    if (!shouldCacheUpdateTag()) {
+      CompoundTag nbt = new CompoundTag();
+      saveSynced(nbt);
+      return nbt;
+    }
+    // reuse the tag for all players in the same tick, as long as nothing changed
+    long time = level != null ? level.getGameTime() : -1;
+    if (cachedUpdateTag == null || cachedUpdateTime != time || time == -1) {
+      CompoundTag nbt = new CompoundTag();
+      saveSynced(nbt);
+      cachedUpdateTag = nbt;
+      cachedUpdateTime = time;
+    }
+    // callers may modify the tag, so never hand out the cached instance
+    return cachedUpdateTag.copy();
+  }
+
+  /**
+   * Minimum number of ticks between syncs sent by {@link #markForSync()}
+   */
+  protected int getSyncInterval() {
+    return 1;
+  }
+
+  /**
+   * Requests this block entity sync to tracking clients. Multiple requests are merged into a single sync, sent at most once every {@link #getSyncInterval()} ticks.
+   * Works independently of {@link #shouldSyncOnUpdate()}, so block entities can use scheduled syncs without also syncing on every block update.
+   */
+  public void markForSync() {
+    this.cachedUpdateTag = null;
+    scheduleSync();
+  }
+
+  /**
+   * Queues {@link #sendScheduledSync()} for the end of the tick without marking the update tag as changed, for subclasses that sync only part of their data
+   */
+  protected void scheduleSync() {
+    if (level != null && !level.isClientSide) {
+      PENDING_SYNC.add(this);
+    }
+  }
+
+  /**
+   * Sends a sync requested by {@link #markForSync()}, by default sends {@link #getUpdateTag()} to all players tracking the chunk
+   */
+  protected void sendScheduledSync() {
+    if (level instanceof ServerLevel serverLevel) {
+      ClientboundBlockEntityDataPacket packet = null;
+      for (ServerPlayer player : serverLevel.getChunkSource().chunkMap.getPlayers(new ChunkPos(worldPosition), false)) {
+        // build the packet once, and only if someone is watching
+        if (packet == null) {
+          packet = ClientboundBlockEntityDataPacket.create(this);
+        }
+        player.connection.send(packet);
+      }
+    }
+  }
+
+  /** Registers the scheduled sync listener */
+  public static void init() {
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ServerTickEvent.class, event -> {
+      if (event.phase == Phase.END) {
+        sendPendingSyncs();
+      }
+    });
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ServerStoppedEvent.class, event -> PENDING_SYNC.clear());
+  }
+
+  /** Sends syncs for all pending block entities whose interval has passed */
+  private static void sendPendingSyncs() {
+    Iterator<MantleBlockEntity> iterator = PENDING_SYNC.iterator();
+    while (iterator.hasNext()) {
+      MantleBlockEntity be = iterator.next();
+      Level level = be.level;
+      if (be.isRemoved() || level == null) {
+        iterator.remove();
+        continue;
+      }
+      long time = level.getGameTime();
+      if (be.lastSyncTime < 0 || time - be.lastSyncTime >= be.getSyncInterval()) {
+        be.lastSyncTime = time;
+        iterator.remove();
+        be.sendScheduledSync();
+      }
+    }
   }
 
   @Override
@@ -12,13 +12,18 @@ import net.minecraft.client.renderer.blockentity.SignRenderer;
 import net.minecraft.world.entity.HumanoidArm;
 import net.minecraft.world.level.GameType;
 import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
 import net.minecraftforge.client.event.EntityRenderersEvent;
+import net.minecraftforge.client.event.ModelEvent.BakingCompleted;
+import net.minecraftforge.client.event.ModelEvent.RegisterAdditional;
 import net.minecraftforge.client.event.ModelEvent.RegisterGeometryLoaders;
 import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.RenderGuiOverlayEvent;
 import net.minecraftforge.client.gui.overlay.NamedGuiOverlay;
 import net.minecraftforge.client.gui.overlay.VanillaGuiOverlay;
 import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent.ClientTickEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.eventbus.api.SubscribeEvent;
 import net.minecraftforge.fml.common.Mod.EventBusSubscriber;
@@ -37,9 +42,11 @@ import slimeknights.mantle.client.model.inventory.InventoryModel;
 import slimeknights.mantle.client.model.util.ColoredBlockModel;
 import slimeknights.mantle.client.model.util.MantleItemLayerModel;
 import slimeknights.mantle.client.model.util.ModelHelper;
+import slimeknights.mantle.client.render.FluidCuboidTemplate;
 import slimeknights.mantle.command.client.MantleClientCommand;
 import slimeknights.mantle.fluid.texture.FluidTextureManager;
 import slimeknights.mantle.fluid.tooltip.FluidTooltipHandler;
+import slimeknights.mantle.network.HashedDatapackSync;
 import slimeknights.mantle.registration.MantleRegistrations;
 import slimeknights.mantle.registration.RegistrationHelper;
 import slimeknights.mantle.util.OffhandCooldownTracker;
@@ -94,10 +101,27 @@ public class ClientEvents {
     event.register("fluids", FluidsModel.LOADER);
   }
 
+  @SubscribeEvent
+  static void registerAdditionalModels(RegisterAdditional event) {
+    // fired as the model bakery is created, so baking is about to start
+    MantleItemLayerModel.enableCache();
+  }
+
+  @SubscribeEvent
+  static void bakingCompleted(BakingCompleted event) {
+    ConnectedModel.bakePendingVariants();
+    RetexturedModel.clearCache();
+    MantleItemLayerModel.clearCache();
+    FluidCuboidTemplate.clearCache();
+  }
+
   @SubscribeEvent
   static void commonSetup(FMLCommonSetupEvent event) {
     MinecraftForge.EVENT_BUS.register(new ExtraHeartRenderHandler());
     MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, RenderGuiOverlayEvent.Post.class, ClientEvents::renderOffhandAttackIndicator);
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, RetexturedModel::prebake);
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ClientTickEvent.class, RetexturedModel::prebakeTick);
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ClientPlayerNetworkEvent.LoggingOut.class, event -> HashedDatapackSync.clearClientPayloads());
   }
 
   // registered with FORGE bus
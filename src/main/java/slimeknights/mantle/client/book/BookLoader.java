@@ -2,6 +2,7 @@ package slimeknights.mantle.client.book;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import net.minecraft.client.Minecraft;
 import net.minecraft.core.BlockPos;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.packs.resources.ResourceManager;
@@ -204,7 +205,7 @@ public class BookLoader implements ResourceManagerReloadListener {
     MantleNetwork.INSTANCE.network.sendToServer(new UpdateLecternPagePacket(pos, page));
   }
 
-  public static Gson getGson() {
+  public static synchronized Gson getGson() {
     if(gson == null || gsonDirty) {
       GsonBuilder builder = new GsonBuilder();
 
@@ -219,7 +220,7 @@ public class BookLoader implements ResourceManagerReloadListener {
     return gson;
   }
 
-  public static void registerGsonTypeAdapter(Type type, Object adapter) {
+  public static synchronized void registerGsonTypeAdapter(Type type, Object adapter) {
     gsonTypeAdapters.put(type, adapter);
     gsonDirty = true;
   }
@@ -232,6 +233,15 @@ public class BookLoader implements ResourceManagerReloadListener {
   /** Reloads all the books, called when the resource manager reloads, such as when the resource pack or the language is change */
   @Override
   public void onResourceManagerReload(ResourceManager resourceManager) {
-    resetAllBooks();
+    // book contents may read recipes from the level, so only start loading in the background when in a world
+    // books not loaded here are loaded in the background the next time they are opened
+    boolean inWorld = Minecraft.getInstance().level != null;
+    books.forEach((s, bookData) -> {
+      if (inWorld && (bookData.isLoaded() || bookData.isLoading())) {
+        bookData.reloadAsync();
+      } else {
+        bookData.reset();
+      }
+    });
   }
 }
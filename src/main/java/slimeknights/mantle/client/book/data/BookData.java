@@ -1,5 +1,6 @@
 package slimeknights.mantle.client.book.data;
 
+import net.minecraft.Util;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
 import net.minecraft.core.BlockPos;
@@ -14,6 +15,7 @@ import slimeknights.mantle.client.book.BookLoader;
 import slimeknights.mantle.client.book.data.content.ContentError;
 import slimeknights.mantle.client.book.repository.BookRepository;
 import slimeknights.mantle.client.book.transformer.BookTransformer;
+import slimeknights.mantle.client.screen.book.BookLoadingScreen;
 import slimeknights.mantle.client.screen.book.BookScreen;
 import slimeknights.mantle.network.MantleNetwork;
 import slimeknights.mantle.network.packet.DropLecternBookPacket;
@@ -25,7 +27,10 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -36,7 +41,15 @@ public class BookData implements IDataItem {
   public transient AppearanceData appearance = new AppearanceData();
   public transient HashMap<String, String> strings = new HashMap<>();
   public transient Font fontRenderer;
-  private transient boolean initialized = false;
+  private transient volatile boolean initialized = false;
+  /** Index of page locations and numbers, rebuilt when advancements change */
+  @Nullable
+  private transient PageIndex pageIndex = null;
+  /** Task loading this book in the background, null if the book was never loaded asynchronously */
+  @Nullable
+  private transient volatile CompletableFuture<Void> loadingTask = null;
+  /** Incremented whenever the book is reset, loads started before that are discarded. Only written on the main thread */
+  private transient volatile int generation = 0;
 
   protected final transient ArrayList<BookTransformer> transformers = new ArrayList<>();
 
@@ -46,16 +59,118 @@ public class BookData implements IDataItem {
     this.repositories = new ArrayList<>(Arrays.asList(repositories));
   }
 
-  /** Reinitializes the given book */
+  /** Reinitializes the given book. Must be called on the main thread */
   public void reset() {
+    this.generation++;
     this.initialized = false;
+    this.pageIndex = null;
+  }
+
+  /** Checks if the book is currently loading on a background thread */
+  public boolean isLoading() {
+    CompletableFuture<Void> task = this.loadingTask;
+    return task != null && !task.isDone();
+  }
+
+  /** Checks if the book is fully loaded and safe to display */
+  public boolean isLoaded() {
+    return this.initialized && !this.isLoading();
+  }
+
+  /**
+   * Loads the book, reading resources on a background thread then finishing on the main thread. Must be called on the main thread.
+   * @return  Task that completes once the book is loaded
+   */
+  public CompletableFuture<Void> loadAsync() {
+    if (this.isLoaded()) {
+      return CompletableFuture.completedFuture(null);
+    }
+    CompletableFuture<Void> task = this.loadingTask;
+    if (task != null && !task.isDone()) {
+      return task;
+    }
+    return this.startLoading();
+  }
+
+  /**
+   * Resets then loads the book in the background. Must be called on the main thread.
+   * @return  Task that completes once the book is reloaded
+   */
+  public CompletableFuture<Void> reloadAsync() {
+    this.reset();
+    return this.startLoading();
+  }
+
+  /**
+   * Starts a load after any pending load finishes.
+   * Resources are read and parsed on the background executor, while page contents and transformers load on the main thread as they may access the level.
+   */
+  private synchronized CompletableFuture<Void> startLoading() {
+    int generation = this.generation;
+    CompletableFuture<Void> current = this.loadingTask;
+    CompletableFuture<Void> previous = current == null ? CompletableFuture.completedFuture(null) : current;
+    CompletableFuture<Void> next = previous
+      .thenApplyAsync(v -> this.prepare(generation), Util.backgroundExecutor())
+      .thenAcceptAsync(this::finishLoad, Minecraft.getInstance())
+      .exceptionally(e -> {
+        Mantle.logger.error("Failed to load book in the background", e);
+        return null;
+      });
+    this.loadingTask = next;
+    return next;
   }
 
+  /**
+   * Loads the book on the calling thread, which must be the main thread. Prefer {@link #loadAsync()} to avoid stalling the game.
+   */
   @Override
   public void load() {
     if (this.initialized) {
       return;
     }
+    CompletableFuture<Void> task = this.loadingTask;
+    if (task != null && !task.isDone()) {
+      // part of the pending load runs on the main thread, so keep running main thread tasks while waiting
+      Minecraft minecraft = Minecraft.getInstance();
+      if (minecraft.isSameThread()) {
+        minecraft.managedBlock(task::isDone);
+      } else {
+        task.join();
+      }
+      if (this.initialized) {
+        return;
+      }
+    }
+    this.finishLoad(this.prepare(this.generation));
+  }
+
+  /**
+   * Reads and parses all repositories of the book. Safe to call from any thread as it only reads resources.
+   * @param generation  Generation when the load started
+   * @return  Contents to finish loading with {@link #finishLoad(PreparedBook)}
+   */
+  private PreparedBook prepare(int generation) {
+    long time = System.nanoTime();
+    List<RepositoryContents> contents = new ArrayList<>(this.repositories.size());
+    for (BookRepository repo : this.repositories) {
+      try {
+        contents.add(RepositoryContents.read(repo));
+      } catch (Exception e) {
+        contents.add(new RepositoryContents(repo, null, e, null, Map.of()));
+      }
+    }
+    return new PreparedBook(generation, time, contents);
+  }
+
+  /**
+   * Finishes loading the book from the parsed repositories. Must run on the main thread, as conditions, page contents, and transformers may access the level.
+   * @param prepared  Contents from {@link #prepare(int)}
+   */
+  private void finishLoad(PreparedBook prepared) {
+    // reset while reading, a newer load will replace this one
+    if (prepared.generation != this.generation) {
+      return;
+    }
 
     Mantle.logger.info("Started loading book...");
 
@@ -65,61 +180,32 @@ public class BookData implements IDataItem {
       this.strings.clear();
       this.appearance = new AppearanceData();
 
-      for (BookRepository repo : this.repositories) {
-        try {
-          List<SectionData> repoContents = repo.getSections();
+      for (RepositoryContents contents : prepared.repositories) {
+        BookRepository repo = contents.repo;
+        List<SectionData> repoContents = contents.sections;
+        if (repoContents != null) {
           this.sections.addAll(repoContents.stream().filter(SectionData::isConditionMet).toList());
-
-          for (SectionData section : repoContents) {
-            section.source = repo;
-          }
-        } catch (Exception e) {
+        } else {
           SectionData error = new SectionData();
           error.name = "errorenous";
           PageData page = new PageData(true);
           page.name = "errorenous";
-          page.content = new ContentError("Failed to load repository " + repo.toString() + ".", e);
+          page.content = new ContentError("Failed to load repository " + repo.toString() + ".", contents.error);
           error.pages.add(page);
           this.sections.add(error);
 
-          e.printStackTrace();
+          if (contents.error != null) {
+            contents.error.printStackTrace();
+          }
         }
 
-        ResourceLocation appearanceLocation = repo.getResourceLocation("appearance.json");
-
-        if (repo.resourceExists(appearanceLocation)) {
-          try {
-            this.appearance = BookLoader.getGson().fromJson(repo.resourceToString(repo.getResource(appearanceLocation)), AppearanceData.class);
-          } catch (Exception e) {
-            e.printStackTrace();
-          }
+        if (contents.appearance != null) {
+          this.appearance = contents.appearance;
         }
 
         this.appearance.load();
 
-        ResourceLocation languageLocation = repo.getResourceLocation("language.lang");
-
-        if (repo.resourceExists(languageLocation)) {
-          try {
-            Resource resource = repo.getResource(languageLocation);
-            if (resource != null) {
-              BufferedReader br = new BufferedReader(new InputStreamReader(resource.open(), StandardCharsets.UTF_8));
-              String next = br.readLine();
-
-              while (next != null) {
-                if (!next.startsWith("//") && next.contains("=")) {
-                  String key = next.substring(0, next.indexOf('='));
-                  String value = next.substring(next.indexOf('=') + 1);
-
-                  this.strings.put(key, value);
-                }
-
-                next = br.readLine();
-              }
-            }
-          } catch (Exception ignored) {
-          }
-        }
+        this.strings.putAll(contents.strings);
       }
 
       for (int i = 0; i < this.sections.size(); i++) {
@@ -185,7 +271,24 @@ public class BookData implements IDataItem {
       e.printStackTrace();
     }
 
-    Mantle.logger.info("Finished loading book");
+    // sections may have changed, so rebuild the index on next use
+    this.pageIndex = null;
+    Mantle.logger.info("Finished loading book in {} ms", (System.nanoTime() - prepared.startTime) / 1000000f);
+  }
+
+  /**
+   * Gets the page index for the given advancements, rebuilding it if the advancements changed since it was built
+   * @param advancementCache  Advancement cache, null ignores advancements
+   * @return  Page index
+   */
+  private PageIndex getIndex(@Nullable BookScreen.AdvancementCache advancementCache) {
+    PageIndex index = this.pageIndex;
+    int version = advancementCache == null ? 0 : advancementCache.getVersion();
+    if (index == null || index.advancementCache != advancementCache || index.version != version || index.sectionCount != this.sections.size()) {
+      index = new PageIndex(this.sections, advancementCache, version);
+      this.pageIndex = index;
+    }
+    return index;
   }
 
   /** Finds the section with the given name, ignoring advancements */
@@ -197,36 +300,18 @@ public class BookData implements IDataItem {
   /** Finds the section with the given name, advancement sensitive */
   @Nullable
   public SectionData findSection(String name, @Nullable BookScreen.AdvancementCache advancementCache) {
-    for (SectionData section : this.sections) {
-      section.update(advancementCache);
-
-      if (section.name.equals(name.toLowerCase())) {
-        return section.isUnlocked(advancementCache) ? section : null;
-      }
+    PageIndex index = getIndex(advancementCache);
+    SectionData section = index.sectionsByName.get(name.toLowerCase());
+    if (section != null && index.isUnlocked(section)) {
+      return section;
     }
-
     return null;
   }
 
   /** Gets the number corresponding to the first page */
   public int getFirstPageNumber(SectionData section, @Nullable BookScreen.AdvancementCache advancementCache) {
-    int pages = 0;
-
-    for (SectionData sect : this.sections) {
-      sect.update(advancementCache);
-
-      if (section == sect) {
-        return section.isUnlocked(advancementCache) ? pages + 1 : -1;
-      }
-
-      if (!sect.isUnlocked(advancementCache)) {
-        continue;
-      }
-
-      pages += sect.getPageCount();
-    }
-
-    return -1;
+    Integer start = getIndex(advancementCache).sectionStarts.get(section);
+    return start == null ? -1 : start + 1;
   }
 
   /** Gets the page data for the given page number */
@@ -235,24 +320,8 @@ public class BookData implements IDataItem {
     if (number < 0) {
       return null;
     }
-
-    int pages = 0;
-
-    for (SectionData section : this.sections) {
-      section.update(advancementCache);
-
-      if (!section.isUnlocked(advancementCache)) {
-        continue;
-      }
-
-      if (pages + section.getPageCount() > number) {
-        return section.pages.get(number - pages);
-      } else {
-        pages += section.getPageCount();
-      }
-    }
-
-    return null;
+    List<PageData> pages = getIndex(advancementCache).pages;
+    return number < pages.size() ? pages.get(number) : null;
   }
 
   /** Gets the page data for the given location */
@@ -270,50 +339,15 @@ public class BookData implements IDataItem {
   /** Gets the page number for the given location, advancement sensitive */
   public int findPageNumber(String location, @Nullable BookScreen.AdvancementCache advancementCache) {
     location = location.toLowerCase();
-
-    int pages = 0;
-
     if (!location.contains(".")) {
       return -1;
     }
-
-    String sectionName = location.substring(0, location.indexOf('.'));
-    String pageName = location.substring(location.indexOf('.') + 1);
-
-    for (SectionData section : this.sections) {
-      section.update(advancementCache);
-
-      if (!section.isUnlocked(advancementCache)) {
-        continue;
-      }
-
-      if (!sectionName.equals(section.name)) {
-        pages += section.getPageCount();
-        continue;
-      }
-
-      for (PageData page : section.pages) {
-        if (!pageName.equals(page.name)) {
-          pages++;
-          continue;
-        }
-
-        return pages + 1;
-      }
-    }
-
-    return -1;
+    return getIndex(advancementCache).pageNumbers.getOrDefault(location, -1);
   }
 
   /** Gets the number of individual pages */
   public int getPageCount(@Nullable BookScreen.AdvancementCache advancementCache) {
-    int pages = 0;
-    for (SectionData section : this.sections) {
-      section.update(advancementCache);
-
-      pages += section.isUnlocked(advancementCache) ? section.getPageCount() : 0;
-    }
-    return pages;
+    return getIndex(advancementCache).pages.size();
   }
 
   /** Gets the number of pages the book can be on, effectively half the individual page count */
@@ -357,8 +391,13 @@ public class BookData implements IDataItem {
    * @param pageUpdater  Function to call to save the page
    */
   public void openGui(Component title, String page, @Nullable Consumer<String> pageUpdater, @Nullable Consumer<?> bookPickup) {
-    this.load();
-    Minecraft.getInstance().setScreen(new BookScreen(title, this, page, pageUpdater, bookPickup));
+    if (this.isLoaded()) {
+      Minecraft.getInstance().setScreen(new BookScreen(title, this, page, pageUpdater, bookPickup));
+    } else {
+      // parse the book off the render thread, showing a loading screen until its ready
+      this.loadAsync();
+      Minecraft.getInstance().setScreen(new BookLoadingScreen(title, this, () -> new BookScreen(title, this, page, pageUpdater, bookPickup)));
+    }
   }
 
   /**
@@ -405,4 +444,118 @@ public class BookData implements IDataItem {
       this.transformers.add(transformer);
     }
   }
+
+  /**
+   * Contents of a single repository, read and parsed off the main thread
+   * @param repo        Repository read
+   * @param sections    Parsed sections in the repository, or null if they failed to load
+   * @param error       Error loading sections, or null if unknown or none
+   * @param appearance  Appearance from the repository, or null to keep the previous appearance
+   * @param strings     Translations from the repository
+   */
+  private record RepositoryContents(BookRepository repo, @Nullable List<SectionData> sections, @Nullable Exception error, @Nullable AppearanceData appearance, Map<String,String> strings) {
+    /** Reads the contents of the given repository */
+    private static RepositoryContents read(BookRepository repo) {
+      List<SectionData> sections = null;
+      Exception error = null;
+      try {
+        sections = repo.getSections();
+        for (SectionData section : sections) {
+          section.source = repo;
+          section.parse();
+        }
+      } catch (Exception e) {
+        error = e;
+      }
+
+      AppearanceData appearance = null;
+      ResourceLocation appearanceLocation = repo.getResourceLocation("appearance.json");
+
+      if (repo.resourceExists(appearanceLocation)) {
+        try {
+          appearance = BookLoader.getGson().fromJson(repo.resourceToString(repo.getResource(appearanceLocation)), AppearanceData.class);
+        } catch (Exception e) {
+          e.printStackTrace();
+        }
+      }
+
+      Map<String,String> strings = new HashMap<>();
+      ResourceLocation languageLocation = repo.getResourceLocation("language.lang");
+
+      if (repo.resourceExists(languageLocation)) {
+        Resource resource = repo.getResource(languageLocation);
+        if (resource != null) {
+          try (BufferedReader br = new BufferedReader(new InputStreamReader(resource.open(), StandardCharsets.UTF_8))) {
+            String next = br.readLine();
+
+            while (next != null) {
+              if (!next.startsWith("//") && next.contains("=")) {
+                String key = next.substring(0, next.indexOf('='));
+                String value = next.substring(next.indexOf('=') + 1);
+
+                strings.put(key, value);
+              }
+
+              next = br.readLine();
+            }
+          } catch (Exception ignored) {
+          }
+        }
+      }
+      return new RepositoryContents(repo, sections, error, appearance, strings);
+    }
+  }
+
+  /**
+   * Book contents read off the main thread, to finish loading on the main thread
+   * @param generation    Book generation when the load started
+   * @param startTime     Time the load started, for logging
+   * @param repositories  Contents of each repository
+   */
+  private record PreparedBook(int generation, long startTime, List<RepositoryContents> repositories) {}
+
+  /** Precomputed page lookups for a single state of advancements */
+  private static class PageIndex {
+    @Nullable
+    private final BookScreen.AdvancementCache advancementCache;
+    private final int version;
+    private final int sectionCount;
+    /** All unlocked pages in order */
+    private final List<PageData> pages = new ArrayList<>();
+    /** Index of the first page of each unlocked section */
+    private final Map<SectionData,Integer> sectionStarts = new IdentityHashMap<>();
+    /** First section with each name, including locked sections */
+    private final Map<String,SectionData> sectionsByName = new HashMap<>();
+    /** Map from section.page to page number, starting from 1 */
+    private final Map<String,Integer> pageNumbers = new HashMap<>();
+
+    private PageIndex(List<SectionData> sections, @Nullable BookScreen.AdvancementCache advancementCache, int version) {
+      this.advancementCache = advancementCache;
+      this.version = version;
+      this.sectionCount = sections.size();
+      for (SectionData section : sections) {
+        section.update(advancementCache);
+        if (section.name != null) {
+          sectionsByName.putIfAbsent(section.name, section);
+        }
+        if (!section.isUnlocked(advancementCache)) {
+          continue;
+        }
+        sectionStarts.put(section, pages.size());
+        // section names with a dot can never be found by location, as the location splits on the first dot
+        boolean findable = section.name != null && section.name.indexOf('.') == -1;
+        for (PageData page : section.pages) {
+          pages.add(page);
+          if (findable && page.name != null) {
+            pageNumbers.putIfAbsent(section.name + "." + page.name, pages.size());
+          }
+        }
+      }
+    }
+
+    /** Checks if the given section is unlocked */
+    private boolean isUnlocked(SectionData section) {
+      return sectionStarts.containsKey(section);
+    }
+  }
 }
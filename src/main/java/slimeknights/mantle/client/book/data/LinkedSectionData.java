@@ -11,7 +11,18 @@ public class LinkedSectionData extends SectionData {
   }
 
   @Override
-  public void load() {
+  public void parse() {
+    this.parsed = true;
+    for (SectionData section : this.sections) {
+      section.parent = this.parent;
+      if (!section.parsed) {
+        section.parse();
+      }
+    }
+  }
+
+  @Override
+  public void loadContent() {
     this.pages.clear();
 
     this.name = this.name.toLowerCase();
@@ -35,6 +35,8 @@ public class PageData implements IDataItem, IConditional {
   public transient SectionData parent;
   public transient BookRepository source;
   public transient PageContent content;
+  /** If true, {@link #parse()} already ran so {@link #load()} only needs to load the content */
+  protected transient boolean parsed = false;
 
   @SuppressWarnings("unused") // used implicitly by GSON
   public PageData() {
@@ -54,12 +56,18 @@ public class PageData implements IDataItem, IConditional {
 
   @Override
   public void load() {
-    if (this.name == null) {
-      this.name = "page" + this.parent.unnamedPageCounter++;
+    if (!this.parsed) {
+      this.parse();
     }
+    this.loadContent();
+  }
 
-    this.name = this.name.toLowerCase();
-
+  /**
+   * Reads the page file and creates the page content without loading it. Only reads resources, so it is safe to call off the main thread.
+   * Requires {@link #source} to be set.
+   */
+  public void parse() {
+    this.parsed = true;
     Class<? extends PageContent> ctype = BookLoader.getPageType(type);
 
     if (!this.data.isEmpty() && !this.data.equals("no-load")) {
@@ -104,6 +112,17 @@ public class PageData implements IDataItem, IConditional {
         this.content = new ContentError("Failed to create a page of type \"" + this.type + "\" as it is not registered.");
       }
     }
+  }
+
+  /**
+   * Loads the parsed page content. Contents may read recipes and tags from the level, so this must run on the main thread.
+   */
+  public void loadContent() {
+    if (this.name == null) {
+      this.name = "page" + this.parent.unnamedPageCounter++;
+    }
+
+    this.name = this.name.toLowerCase();
 
     try {
       this.content.parent = this;
@@ -18,7 +18,6 @@ import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -39,6 +38,8 @@ public class SectionData implements IDataItem, IConditional {
   public transient BookData parent;
   public transient BookRepository source;
   public transient ArrayList<PageData> pages = new ArrayList<>();
+  /** If true, {@link #parse()} already ran so {@link #load()} only needs to load contents */
+  protected transient boolean parsed = false;
 
   public SectionData() {
     this(false);
@@ -56,24 +57,30 @@ public class SectionData implements IDataItem, IConditional {
 
   @Override
   public void load() {
-    if (this.name == null) {
-      this.name = "section" + this.parent.unnamedSectionCounter++;
+    if (!this.parsed) {
+      this.parse();
     }
+    this.loadContent();
+  }
 
-    this.name = this.name.toLowerCase();
-
+  /**
+   * Reads and parses the pages in this section without loading their contents. Only reads resources, so it is safe to call off the main thread.
+   * Requires {@link #source} to be set.
+   */
+  public void parse() {
+    this.parsed = true;
     if (!this.data.equals("no-load")) {
       Resource pagesInfo = this.source.getResource(this.source.getResourceLocation(this.data));
       if (pagesInfo != null) {
         String data = this.source.resourceToString(pagesInfo);
         if (!data.isEmpty()) {
           try {
-            this.pages = this.getPages(data);
+            this.pages = this.parsePages(data);
           } catch (Exception e) {
             this.pages = new ArrayList<>();
             PageData pdError = new PageData(true);
             pdError.name = "errorrenous";
-            pdError.content = new ContentError("Failed to load section " + this.name + ".", e);
+            pdError.content = new ContentError("Failed to load section " + (this.name != null ? this.name : this.data) + ".", e);
             this.pages.add(pdError);
 
             e.printStackTrace();
@@ -85,7 +92,25 @@ public class SectionData implements IDataItem, IConditional {
     for (PageData page : this.pages) {
       page.parent = this;
       page.source = this.source;
-      page.load();
+      page.parse();
+    }
+  }
+
+  /**
+   * Filters pages by their conditions and loads their contents. Contents may read recipes and tags from the level, so this must run on the main thread.
+   */
+  public void loadContent() {
+    if (this.name == null) {
+      this.name = "section" + this.parent.unnamedSectionCounter++;
+    }
+
+    this.name = this.name.toLowerCase();
+    this.pages.removeIf(page -> !page.isConditionMet());
+
+    for (PageData page : this.pages) {
+      page.parent = this;
+      page.source = this.source;
+      page.loadContent();
     }
 
     this.icon.load(this.source);
@@ -98,9 +123,17 @@ public class SectionData implements IDataItem, IConditional {
    * @return ArrayList of pages for the book
    */
   protected ArrayList<PageData> getPages(String data) {
-    List<PageData> pages = Arrays.asList(BookLoader.getGson().fromJson(data, PageData[].class));
+    return this.parsePages(data).stream().filter(PageData::isConditionMet).collect(Collectors.toCollection(ArrayList::new));
+  }
 
-    return pages.stream().filter(PageData::isConditionMet).collect(Collectors.toCollection(ArrayList::new));
+  /**
+   * Gets a list of all pages from the given data, without checking conditions
+   *
+   * @param data JSON data
+   * @return ArrayList of pages for the book
+   */
+  protected ArrayList<PageData> parsePages(String data) {
+    return new ArrayList<>(Arrays.asList(BookLoader.getGson().fromJson(data, PageData[].class)));
   }
 
   public void update(@Nullable BookScreen.AdvancementCache advancementCache) {
@@ -1,5 +1,8 @@
 package slimeknights.mantle.client.model;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.google.gson.JsonArray;
@@ -11,7 +14,9 @@ import com.mojang.datafixers.util.Either;
 import com.mojang.datafixers.util.Pair;
 import lombok.AccessLevel;
 import lombok.RequiredArgsConstructor;
+import net.minecraft.client.Minecraft;
 import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.client.renderer.ItemModelShaper;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.model.BakedQuad;
 import net.minecraft.client.renderer.block.model.ItemOverrides;
@@ -23,11 +28,15 @@ import net.minecraft.client.resources.model.ModelBakery;
 import net.minecraft.client.resources.model.ModelState;
 import net.minecraft.client.resources.model.UnbakedModel;
 import net.minecraft.core.Direction;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.tags.TagKey;
 import net.minecraft.util.GsonHelper;
 import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.LivingEntity;
 import net.minecraft.world.inventory.InventoryMenu;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
 import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.Blocks;
@@ -36,22 +45,32 @@ import net.minecraftforge.client.model.data.ModelData;
 import net.minecraftforge.client.model.geometry.IGeometryBakingContext;
 import net.minecraftforge.client.model.geometry.IGeometryLoader;
 import net.minecraftforge.client.model.geometry.IUnbakedGeometry;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TickEvent.ClientTickEvent;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TagsUpdatedEvent.UpdateCause;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.client.model.util.ColoredBlockModel;
 import slimeknights.mantle.client.model.util.DynamicBakedWrapper;
 import slimeknights.mantle.client.model.util.GeometryContextWrapper;
 import slimeknights.mantle.client.model.util.ModelHelper;
 import slimeknights.mantle.client.model.util.ModelTextureIteratable;
 import slimeknights.mantle.client.model.util.SimpleBlockModel;
+import slimeknights.mantle.config.Config;
 import slimeknights.mantle.item.RetexturedBlockItem;
 import slimeknights.mantle.util.RetexturedHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
 
 /**
@@ -62,6 +81,16 @@ import java.util.function.Function;
 public class RetexturedModel implements IUnbakedGeometry<RetexturedModel> {
   /** Loader instance */
   public static IGeometryLoader<RetexturedModel> LOADER = RetexturedModel::deserialize;
+  /** Cache of retextured models shared by all baked models, weighed by quad count */
+  private static volatile Cache<CacheKey,BakedModel> cache = createCache();
+  /** Maximum time to spend prebaking models each client tick, in nanoseconds */
+  private static final long PREBAKE_BUDGET = 2_000_000;
+  /** Models left to prebake, only accessed on the render thread */
+  private static final Queue<Prebake> prebakeQueue = new ArrayDeque<>();
+  /** Number of models prebaked since the queue was filled */
+  private static int prebakeCount = 0;
+  /** Time spent prebaking since the queue was filled, in nanoseconds */
+  private static long prebakeTime = 0;
 
   private final SimpleBlockModel model;
   private final Set<String> retextured;
@@ -99,6 +128,100 @@ public class RetexturedModel implements IUnbakedGeometry<RetexturedModel> {
     return ImmutableSet.copyOf(retextured);
   }
 
+
+
+  /* Cache */
+
+  /** Creates a new cache using the size from the config */
+  private static Cache<CacheKey,BakedModel> createCache() {
+    long maxQuads = Config.CLIENT_SPEC.isLoaded() ? Config.RETEXTURED_CACHE_QUADS.get() : Config.RETEXTURED_CACHE_QUADS.getDefault();
+    return CacheBuilder.newBuilder()
+                       .maximumWeight(maxQuads)
+                       .weigher(RetexturedModel::countQuads)
+                       .recordStats()
+                       .build();
+  }
+
+  /** Weighs a cache entry by its quad count, minimum of 1 so empty models still count towards the limit */
+  private static int countQuads(CacheKey key, BakedModel model) {
+    RandomSource random = RandomSource.create();
+    int quads = model.getQuads(null, null, random, ModelData.EMPTY, null).size();
+    for (Direction direction : Direction.values()) {
+      quads += model.getQuads(null, direction, random, ModelData.EMPTY, null).size();
+    }
+    return Math.max(quads, 1);
+  }
+
+  /** Gets the hit and miss statistics of the retextured model cache since the last resource reload */
+  public static CacheStats getCacheStats() {
+    return cache.stats();
+  }
+
+  /** Clears the retextured model cache, called after models are baked as all old models are no longer used */
+  public static void clearCache() {
+    CacheStats stats = cache.stats();
+    if (stats.requestCount() > 0) {
+      Mantle.logger.debug("Clearing retextured model cache: {} hits, {} misses, {} evictions", stats.hitCount(), stats.missCount(), stats.evictionCount());
+    }
+    cache = createCache();
+    // queued models are from the previous bake
+    prebakeQueue.clear();
+  }
+
+  /**
+   * Queues all retextured item models for every texture in their tag to bake on the render thread, if enabled in the config.
+   * Baking reads the model manager and texture atlas, so it is spread over client ticks instead of running in the background.
+   */
+  public static void prebake(TagsUpdatedEvent event) {
+    if (event.getUpdateCause() != UpdateCause.CLIENT_PACKET_RECEIVED || !Config.PREBAKE_RETEXTURED_MODELS.get()) {
+      return;
+    }
+    ItemModelShaper shaper = Minecraft.getInstance().getItemRenderer().getItemModelShaper();
+    Map<Baked,TagKey<Item>> models = new LinkedHashMap<>();
+    for (Item item : Registry.ITEM) {
+      if (item instanceof RetexturedBlockItem retextured && shaper.getItemModel(item) instanceof Baked baked) {
+        models.putIfAbsent(baked, retextured.getTextureTag());
+      }
+    }
+    prebakeQueue.clear();
+    prebakeCount = 0;
+    prebakeTime = 0;
+    for (Entry<Baked,TagKey<Item>> entry : models.entrySet()) {
+      Baked baked = entry.getKey();
+      for (Holder<Item> holder : Registry.ITEM.getTagOrEmpty(entry.getValue())) {
+        Block block = Block.byItem(holder.value());
+        if (block != Blocks.AIR) {
+          prebakeQueue.add(new Prebake(baked, block));
+        }
+      }
+    }
+  }
+
+  /** Bakes queued models until the time budget for this tick runs out */
+  public static void prebakeTick(ClientTickEvent event) {
+    if (event.phase != Phase.END || prebakeQueue.isEmpty()) {
+      return;
+    }
+    long start = System.nanoTime();
+    long time = start;
+    while (time - start < PREBAKE_BUDGET) {
+      Prebake prebake = prebakeQueue.poll();
+      if (prebake == null) {
+        break;
+      }
+      prebake.model.getCachedModel(prebake.block);
+      prebakeCount++;
+      time = System.nanoTime();
+    }
+    prebakeTime += time - start;
+    if (prebakeQueue.isEmpty()) {
+      Mantle.logger.info("Prebaked {} retextured models in {} ms", prebakeCount, prebakeTime / 1000000f);
+    }
+  }
+
+
+  /* Loading */
+
   /** Deserializes a retextured model from JSON */
   public static RetexturedModel deserialize(JsonObject json, JsonDeserializationContext context) {
     // get base model
@@ -138,10 +261,14 @@ public class RetexturedModel implements IUnbakedGeometry<RetexturedModel> {
     throw new JsonSyntaxException("Missing retextured, expected to find a String or a JsonArray");
   }
 
+  /** Key in the retextured model cache, baked models use identity equality */
+  private record CacheKey(Baked model, ResourceLocation texture) {}
+
+  /** Model and texture block queued to prebake */
+  private record Prebake(Baked model, Block block) {}
+
   /** Baked variant of the model, used to swap out quads based on the texture */
   public static class Baked extends DynamicBakedWrapper<BakedModel> {
-    /** Cache of texture name to baked model */
-    private final Map<ResourceLocation,BakedModel> cache = new ConcurrentHashMap<>();
     /* Properties for rebaking */
     private final IGeometryBakingContext owner;
     private final SimpleBlockModel model;
@@ -172,7 +299,12 @@ public class RetexturedModel implements IUnbakedGeometry<RetexturedModel> {
      * @return  Retextured model
      */
     private BakedModel getCachedModel(Block block) {
-      return cache.computeIfAbsent(ModelHelper.getParticleTexture(block), this::getRetexturedModel);
+      ResourceLocation texture = ModelHelper.getParticleTexture(block);
+      try {
+        return cache.get(new CacheKey(this, texture), () -> getRetexturedModel(texture));
+      } catch (ExecutionException e) {
+        throw new IllegalStateException("Failed to retexture model with " + texture, e.getCause());
+      }
     }
 
     @Override
@@ -40,6 +40,7 @@ import net.minecraftforge.client.model.data.ModelProperty;
 import net.minecraftforge.client.model.geometry.IGeometryBakingContext;
 import net.minecraftforge.client.model.geometry.IGeometryLoader;
 import net.minecraftforge.client.model.geometry.IUnbakedGeometry;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.block.IMultipartConnectedBlock;
 import slimeknights.mantle.client.model.util.ColoredBlockModel;
 import slimeknights.mantle.client.model.util.DynamicBakedWrapper;
@@ -49,6 +50,7 @@ import slimeknights.mantle.client.model.util.SimpleBlockModel;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.EnumSet;
@@ -57,8 +59,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -73,6 +78,8 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
 
   /** Property of the connections cache key. Contains a 6 bit number with each bit representing a direction */
   private static final ModelProperty<Byte> CONNECTIONS = new ModelProperty<>();
+  /** Baked models waiting to bake all variants, cannot bake during model baking as atlases are not yet set */
+  private static final Queue<Baked> PENDING_VARIANTS = new ConcurrentLinkedQueue<>();
 
   /** Parent model */
   private final SimpleBlockModel model;
@@ -82,6 +89,12 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
   private final BiPredicate<BlockState,BlockState> connectionPredicate;
   /** List of sides to check when getting block directions */
   private final Set<Direction> sides;
+  /** If true, all variants are baked after model loading instead of on first use */
+  private final boolean bakeAll;
+
+  protected ConnectedModel(SimpleBlockModel model, Map<String,String[]> connectedTextures, BiPredicate<BlockState,BlockState> connectionPredicate, Set<Direction> sides) {
+    this(model, connectedTextures, connectionPredicate, sides, false);
+  }
 
   /** Map of full texture name to the resulting material, filled during {@link #getMaterials(IGeometryBakingContext, Function, Set)} */
   private Map<String,Material> extraTextures;
@@ -136,7 +149,25 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
   @Override
   public BakedModel bake(IGeometryBakingContext owner, ModelBakery bakery, Function<Material,TextureAtlasSprite> spriteGetter, ModelState transform, ItemOverrides overrides, ResourceLocation location) {
     BakedModel baked = model.bake(owner, bakery, spriteGetter, transform, overrides, location);
-    return new Baked(this, new ExtraTextureContext(owner, extraTextures), transform, baked);
+    Baked connected = new Baked(this, new ExtraTextureContext(owner, extraTextures), transform, baked);
+    if (bakeAll) {
+      PENDING_VARIANTS.add(connected);
+    }
+    return connected;
+  }
+
+  /** Bakes all variants of models requesting it in parallel. Called after model baking completes */
+  public static void bakePendingVariants() {
+    if (PENDING_VARIANTS.isEmpty()) {
+      return;
+    }
+    long time = System.nanoTime();
+    List<Baked> models = new ArrayList<>();
+    for (Baked baked = PENDING_VARIANTS.poll(); baked != null; baked = PENDING_VARIANTS.poll()) {
+      models.add(baked);
+    }
+    models.parallelStream().forEach(Baked::bakeAllVariants);
+    Mantle.logger.info("Baked all variants of {} connected models in {} ms", models.size(), (System.nanoTime() - time) / 1000000f);
   }
 
   @SuppressWarnings("WeakerAccess")
@@ -144,7 +175,7 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
     private final ConnectedModel parent;
     private final IGeometryBakingContext owner;
     private final ModelState transforms;
-    private final BakedModel[] cache = new BakedModel[64];
+    private final AtomicReferenceArray<BakedModel> cache = new AtomicReferenceArray<>(64);
     private final Map<String,String> nameMappingCache = new ConcurrentHashMap<>();
     private final ModelTextureIteratable modelTextures;
     public Baked(ConnectedModel parent, IGeometryBakingContext owner, ModelState transforms, BakedModel baked) {
@@ -154,7 +185,7 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
       this.transforms = transforms;
       this.modelTextures = ModelTextureIteratable.of(owner, parent.model);
       // all directions false gives cache key of 0, that is ourself
-      this.cache[0] = baked;
+      this.cache.set(0, baked);
     }
 
     /**
@@ -373,14 +404,38 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
      * @param data         Model data instance
      * @return             Model quads for the given side
      */
-    protected synchronized List<BakedQuad> getCachedQuads(byte connections, @Nullable BlockState state, @Nullable Direction side, RandomSource rand, ModelData data, @Nullable RenderType renderType) {
-      // bake a new model if the orientation is not yet baked
-      if (cache[connections] == null) {
-        cache[connections] = applyConnections(connections);
+    protected List<BakedQuad> getCachedQuads(byte connections, @Nullable BlockState state, @Nullable Direction side, RandomSource rand, ModelData data, @Nullable RenderType renderType) {
+      return getVariant(connections).getQuads(state, side, rand, data, renderType);
+    }
+
+    /**
+     * Gets the model for the given connections, baking it if not yet baked.
+     * If two threads bake the same variant at once, the first one to finish is kept so all callers see the same model.
+     * @param connections  Byte with 6 bits for the 6 different sides
+     * @return  Model for the given orientation
+     */
+    private BakedModel getVariant(byte connections) {
+      BakedModel model = cache.get(connections);
+      if (model == null) {
+        BakedModel baked = applyConnections(connections);
+        model = cache.compareAndExchange(connections, null, baked);
+        if (model == null) {
+          model = baked;
+        }
       }
+      return model;
+    }
 
-      // get the model for the given orientation
-      return cache[connections].getQuads(state, side, rand, data, renderType);
+    /** Bakes every variant reachable from the model's sides */
+    private void bakeAllVariants() {
+      int mask = 0;
+      for (Direction dir : parent.sides) {
+        mask |= 1 << dir.get3DDataValue();
+      }
+      // iterate all subsets of the mask, skipping 0 as its the original model
+      for (int connections = mask; connections != 0; connections = (connections - 1) & mask) {
+        getVariant((byte)connections);
+      }
     }
 
     @Nonnull
@@ -452,7 +507,9 @@ public class ConnectedModel implements IUnbakedGeometry<ConnectedModel> {
     // other data
     BiPredicate<BlockState,BlockState> predicate = ConnectedModelRegistry.deserializePredicate(data, "predicate");
 
+    boolean bakeAll = GsonHelper.getAsBoolean(data, "bake_all", false);
+
     // final model instance
-    return new ConnectedModel(model, connectedTextures.build(), predicate, sides);
+    return new ConnectedModel(model, connectedTextures.build(), predicate, sides, bakeAll);
   }
 }
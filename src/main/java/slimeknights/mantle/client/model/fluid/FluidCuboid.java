@@ -4,14 +4,19 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonSyntaxException;
 import com.mojang.math.Vector3f;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import lombok.AccessLevel;
 import lombok.Getter;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
 import net.minecraft.core.Direction;
 import net.minecraft.util.GsonHelper;
 import slimeknights.mantle.client.model.util.ModelHelper;
+import slimeknights.mantle.client.render.FluidCuboidTemplate;
 import slimeknights.mantle.util.JsonHelper;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
@@ -44,6 +49,10 @@ public class FluidCuboid {
   /** Cache for scaled to */
   @Nullable
   private Vector3f toScaled;
+  /** Render templates for this cuboid, keyed by still sprite. Each list holds a template for each flowing sprite and gas state used with that still sprite */
+  private final Reference2ObjectMap<TextureAtlasSprite, List<FluidCuboidTemplate>> templates = new Reference2ObjectOpenHashMap<>();
+  /** Template generation when {@link #templates} was last cleared */
+  private int templateGeneration = FluidCuboidTemplate.getGeneration();
 
   public FluidCuboid(Vector3f from, Vector3f to, Map<Direction,FluidFace> faces) {
     this.from = from;
@@ -85,6 +94,38 @@ public class FluidCuboid {
     return toScaled;
   }
 
+  /**
+   * Gets a render template for this cuboid, creating it if missing. Should only be called on the render thread.
+   * @param still    Still sprite
+   * @param flowing  Flowing sprite
+   * @param isGas    If true, fluid is a gas
+   * @return  Render template
+   */
+  public FluidCuboidTemplate getTemplate(TextureAtlasSprite still, TextureAtlasSprite flowing, boolean isGas) {
+    // atlas reloaded, so all old sprites are no longer used
+    int generation = FluidCuboidTemplate.getGeneration();
+    if (templateGeneration != generation) {
+      templates.clear();
+      templateGeneration = generation;
+    }
+    List<FluidCuboidTemplate> list = templates.get(still);
+    if (list == null) {
+      list = new ArrayList<>(1);
+      templates.put(still, list);
+    } else {
+      // typically just 1 template per still sprite, so a loop beats hashing a composite key
+      for (int i = 0; i < list.size(); i++) {
+        FluidCuboidTemplate template = list.get(i);
+        if (template.matches(still, flowing, isGas)) {
+          return template;
+        }
+      }
+    }
+    FluidCuboidTemplate template = new FluidCuboidTemplate(this, still, flowing, isGas);
+    list.add(template);
+    return template;
+  }
+
   /**
    * Creates a new fluid cuboid from JSON
    * @param json  JSON object
@@ -6,6 +6,7 @@ import com.google.gson.JsonObject;
 import com.mojang.blaze3d.vertex.VertexConsumer;
 import com.mojang.datafixers.util.Pair;
 import com.mojang.math.Transformation;
+import it.unimi.dsi.fastutil.ints.IntIntPair;
 import lombok.RequiredArgsConstructor;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.model.BakedQuad;
@@ -30,6 +31,7 @@ import net.minecraftforge.client.model.geometry.IUnbakedGeometry;
 import net.minecraftforge.client.model.geometry.UnbakedGeometryHelper;
 import net.minecraftforge.client.model.pipeline.QuadBakingVertexConsumer;
 import net.minecraftforge.client.model.pipeline.TransformingVertexPipeline;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.data.loadable.common.ColorLoadable;
 import slimeknights.mantle.util.ItemLayerPixels;
 import slimeknights.mantle.util.JsonHelper;
@@ -38,13 +40,14 @@ import slimeknights.mantle.util.ReversedListBuilder;
 
 import javax.annotation.Nullable;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.PrimitiveIterator.OfInt;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -59,6 +62,15 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
   private static final Direction[] HORIZONTALS = {Direction.UP, Direction.DOWN};
   private static final Direction[] VERTICALS = {Direction.WEST, Direction.EAST};
 
+  /** Quads built for each sprite during the current model bake, shared between all models using the same sprite and settings */
+  private static final Map<QuadCacheKey,ImmutableList<BakedQuad>> QUAD_CACHE = new ConcurrentHashMap<>();
+  /** Opaque pixels in the first frame of each sprite, used to update the pixel map. Like {@link #QUAD_CACHE}, only used while baking */
+  private static final Map<TextureAtlasSprite,long[]> OPAQUE_CACHE = new ConcurrentHashMap<>();
+  private static final AtomicInteger cacheHits = new AtomicInteger();
+  private static final AtomicInteger cacheMisses = new AtomicInteger();
+  /** If true, models are being baked so {@link #QUAD_CACHE} is in use. Outside of baking quads are built directly so the cache cannot grow without bound */
+  private static volatile boolean cacheEnabled = false;
+
   /** Layers in the model */
   private final List<LayerData> layers;
   /** Textures fetched during baking */
@@ -156,12 +168,59 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
    * @see #getQuadForGui(int, int, TextureAtlasSprite, Transformation, int)
    */
   public static ImmutableList<BakedQuad> getQuadsForSprite(int color, int tint, TextureAtlasSprite sprite, Transformation transform, int emissivity, @Nullable ItemLayerPixels pixels) {
+    if (!cacheEnabled) {
+      return buildQuadsForSprite(color, tint, sprite, transform, emissivity, pixels);
+    }
+    // the pixels from previous layers change which quads are built, so they are part of the key
+    QuadCacheKey key = new QuadCacheKey(sprite, color, tint, emissivity, transform, pixels == null ? null : pixels.copy());
+    ImmutableList<BakedQuad> quads = QUAD_CACHE.get(key);
+    if (quads != null) {
+      cacheHits.incrementAndGet();
+      // quads are shared, but the pixels still need the new layer
+      if (pixels != null) {
+        markPixels(sprite, pixels);
+      }
+      return quads;
+    }
+    cacheMisses.incrementAndGet();
+    quads = buildQuadsForSprite(color, tint, sprite, transform, emissivity, pixels);
+    QUAD_CACHE.put(key, quads);
+    return quads;
+  }
+
+  /** Gets the number of quad cache hits and misses since the last resource reload */
+  public static IntIntPair getCacheStats() {
+    return IntIntPair.of(cacheHits.get(), cacheMisses.get());
+  }
+
+  /** Enables the quad cache, called when a model reload starts */
+  public static void enableCache() {
+    cacheEnabled = true;
+  }
+
+  /** Clears and disables the quad cache, called after models are baked as the sprites will change on the next reload */
+  public static void clearCache() {
+    cacheEnabled = false;
+    int hits = cacheHits.getAndSet(0);
+    int misses = cacheMisses.getAndSet(0);
+    if (hits + misses > 0) {
+      Mantle.logger.debug("Clearing item layer quad cache: {} hits, {} misses", hits, misses);
+    }
+    QUAD_CACHE.clear();
+    OPAQUE_CACHE.clear();
+  }
+
+  /** Builds the quads for {@link #getQuadsForSprite(int, int, TextureAtlasSprite, Transformation, int, ItemLayerPixels)} */
+  private static ImmutableList<BakedQuad> buildQuadsForSprite(int color, int tint, TextureAtlasSprite sprite, Transformation transform, int emissivity, @Nullable ItemLayerPixels pixels) {
     ImmutableList.Builder<BakedQuad> builder = ImmutableList.builder();
 
     int uMax = sprite.getWidth();
     int vMax = sprite.getHeight();
     FaceData faceData = new FaceData(uMax, vMax);
     boolean translucent = false;
+    // pixels drawn by previous layers at this sprite's size, looked up once instead of scaling each pixel
+    int words = ItemLayerPixels.wordsFor(uMax);
+    long[] blocked = pixels == null ? null : pixels.getMask(uMax, vMax);
 
     OfInt frames = sprite.getUniqueFrames().iterator();
     boolean hasFrames = frames.hasNext();
@@ -227,8 +286,9 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
       for (int v = 0; v < vMax; v++) {
         int uStart = 0, uEnd = uMax;
         boolean building = false;
+        int row = v * words;
         for (int u = 0; u < uMax; u++) {
-          boolean canDraw = pixels == null || !pixels.get(u, v, uMax, vMax);
+          boolean canDraw = blocked == null || !ItemLayerPixels.getBit(blocked, row, u);
           boolean face = canDraw && faceData.get(facing, u, v);
           // set the end for translucent to draw right after this pixel
           if (face) {
@@ -263,7 +323,7 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
         int vStart = 0, vEnd = vMax;
         boolean building = false;
         for (int v = 0; v < vMax; v++) {
-          boolean canDraw = pixels == null || !pixels.get(u, v, uMax, vMax);
+          boolean canDraw = blocked == null || !ItemLayerPixels.getBit(blocked, v * words, u);
           boolean face = canDraw && faceData.get(facing, u, v);
           // set the end for translucent to draw right after this pixel
           if (face) {
@@ -306,28 +366,46 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
               0, 1, 8.5f / 16f, sprite.getU0(), sprite.getV0());
 
     // fill in the pixel map with new pixels from the sprite
-    if (pixels != null) {
-      // animated textures are tricky, as we have three choices:
-      //  1. if a pixel is only potentially there, don't draw lower layers - leads to gaps
-      //  2. if a pixel is only potentially there, always draw lower layers - leads to z-fighting
-      //  3. only use the first frame
-      // of these, 2 would give the most accurate result. However, its also the hardest to calculate
-      // of the remaining methods, 3 is both more accurate and easier to calculate than 1, so I opted for that approach
-      if (hasFrames) {
-        for(int v = 0; v < vMax; v++) {
-          for(int u = 0; u < uMax; u++) {
-            int alpha = sprite.getPixelRGBA(0, u, vMax - v - 1) >> 24 & 0xFF;
-            if (alpha / 255f > 0.1f) {
-              pixels.set(u, v, uMax, vMax);
-            }
-          }
-        }
-      }
+    if (pixels != null && hasFrames) {
+      markPixels(sprite, pixels);
     }
 
     return builder.build();
   }
 
+  /** Marks all pixels in the sprite as used in the pixel map */
+  private static void markPixels(TextureAtlasSprite sprite, ItemLayerPixels pixels) {
+    // animated textures are tricky, as we have three choices:
+    //  1. if a pixel is only potentially there, don't draw lower layers - leads to gaps
+    //  2. if a pixel is only potentially there, always draw lower layers - leads to z-fighting
+    //  3. only use the first frame
+    // of these, 2 would give the most accurate result. However, its also the hardest to calculate
+    // of the remaining methods, 3 is both more accurate and easier to calculate than 1, so I opted for that approach
+    if (!sprite.getUniqueFrames().iterator().hasNext()) {
+      return;
+    }
+    // outside of baking the cache would never be cleared, so compute the mask directly
+    long[] opaque = cacheEnabled ? OPAQUE_CACHE.computeIfAbsent(sprite, MantleItemLayerModel::getOpaquePixels) : getOpaquePixels(sprite);
+    pixels.setAll(opaque, sprite.getWidth(), sprite.getHeight());
+  }
+
+  /** Gets a packed bitmap of all opaque pixels in the first frame of the sprite */
+  private static long[] getOpaquePixels(TextureAtlasSprite sprite) {
+    int uMax = sprite.getWidth();
+    int vMax = sprite.getHeight();
+    int words = ItemLayerPixels.wordsFor(uMax);
+    long[] opaque = new long[words * vMax];
+    for(int v = 0; v < vMax; v++) {
+      for(int u = 0; u < uMax; u++) {
+        int alpha = sprite.getPixelRGBA(0, u, vMax - v - 1) >> 24 & 0xFF;
+        if (alpha / 255f > 0.1f) {
+          ItemLayerPixels.setBit(opaque, v * words, u);
+        }
+      }
+    }
+    return opaque;
+  }
+
   /**
    * Gets the quad to display in GUIs for the given sprite. Unlike {@link #getQuadsForSprite(int, int, TextureAtlasSprite, Transformation, int, ItemLayerPixels)}, this method will not build side quads as GUIs don't see those.
    * This method is notably more efficient when you are only building a GUI model, if you want a full model its probably more efficient to call the other method then filter out {@link Direction#SOUTH} quads.
@@ -460,33 +538,33 @@ public class MantleItemLayerModel implements IUnbakedGeometry<MantleItemLayerMod
     consumer.endVertex();
   }
 
-  /** Cloned from {@link ItemLayerModel}'s FaceData subclass */
+  /** Based on {@link ItemLayerModel}'s FaceData subclass, but with rows packed into longs */
   private static class FaceData {
-    private final EnumMap<Direction,BitSet> data = new EnumMap<>(Direction.class);
-    private final int vMax;
+    /** Bitmap for each side direction, indexed by {@link Direction#get3DDataValue()} */
+    private final long[][] data = new long[6][];
+    private final int words;
 
     FaceData(int uMax, int vMax) {
-      this.vMax = vMax;
-
-      data.put(Direction.WEST, new BitSet(uMax * vMax));
-      data.put(Direction.EAST, new BitSet(uMax * vMax));
-      data.put(Direction.UP,   new BitSet(uMax * vMax));
-      data.put(Direction.DOWN, new BitSet(uMax * vMax));
+      this.words = ItemLayerPixels.wordsFor(uMax);
+      int size = words * vMax;
+      data[Direction.WEST.get3DDataValue()] = new long[size];
+      data[Direction.EAST.get3DDataValue()] = new long[size];
+      data[Direction.UP.get3DDataValue()]   = new long[size];
+      data[Direction.DOWN.get3DDataValue()] = new long[size];
     }
 
     public void set(Direction facing, int u, int v) {
-      data.get(facing).set(getIndex(u, v));
+      ItemLayerPixels.setBit(data[facing.get3DDataValue()], v * words, u);
     }
 
     public boolean get(Direction facing, int u, int v) {
-      return data.get(facing).get(getIndex(u, v));
-    }
-
-    private int getIndex(int u, int v) {
-      return v * vMax + u;
+      return ItemLayerPixels.getBit(data[facing.get3DDataValue()], v * words, u);
     }
   }
 
+  /** Key for the quad cache. Sprites compare by identity, which is fine as the cache is cleared on reload */
+  private record QuadCacheKey(TextureAtlasSprite sprite, int color, int tint, int luminosity, Transformation transform, @Nullable ItemLayerPixels pixels) {}
+
   /**
    * Class holding details about a single layer in the model
    */
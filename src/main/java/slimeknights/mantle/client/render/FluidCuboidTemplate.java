@@ -0,0 +1,175 @@
+package slimeknights.mantle.client.render;
+
+import com.mojang.blaze3d.vertex.VertexConsumer;
+import com.mojang.math.Matrix4f;
+import com.mojang.math.Vector3f;
+import lombok.Getter;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.core.Direction;
+import net.minecraft.util.Mth;
+import slimeknights.mantle.client.model.fluid.FluidCuboid;
+import slimeknights.mantle.client.model.fluid.FluidCuboid.FluidFace;
+
+/**
+ * Fluid cuboid with all vertex positions and UVs computed for a set of sprites, so it can be rendered repeatedly with just a color, light, and height.
+ * Use {@link FluidCuboid#getTemplate(TextureAtlasSprite, TextureAtlasSprite, boolean)} to get a cached instance.
+ */
+public class FluidCuboidTemplate {
+  /** Floats per vertex: X, Y, Z, U, V */
+  private static final int STRIDE = 5;
+  /** Corners of each vertex for each face, in the same order as {@link FluidRenderer#putTexturedQuad(VertexConsumer, Matrix4f, TextureAtlasSprite, Vector3f, Vector3f, Direction, int, int, int, boolean)}. Bit 0 selects max X, bit 1 max Y, bit 2 max Z */
+  private static final int[][] CORNERS = {
+    {4, 0, 1, 5}, // DOWN
+    {2, 6, 7, 3}, // UP
+    {0, 2, 3, 1}, // NORTH
+    {5, 7, 6, 4}, // SOUTH
+    {4, 6, 2, 0}, // WEST
+    {1, 3, 7, 5}  // EAST
+  };
+
+  /** Incremented whenever the block atlas reloads, invalidating all templates */
+  private static int generation = 0;
+
+  @Getter
+  private final TextureAtlasSprite still;
+  @Getter
+  private final TextureAtlasSprite flowing;
+  @Getter
+  private final boolean isGas;
+  /** Generation when this template was created */
+  private final int created;
+  /** Vertex data for all quads */
+  private final float[] vertices;
+  /** For each vertex, true if it is on the top of the cuboid */
+  private final boolean[] top;
+  /** For each quad, true if it is a side face, meaning its UVs depend on height */
+  private final boolean[] side;
+  /** Cuboid Y bounds */
+  private final float minY, maxY;
+  /** If true, side UVs are linear in height, so partial heights can interpolate them instead of recomputing */
+  private final boolean linearHeight;
+
+  public FluidCuboidTemplate(FluidCuboid cube, TextureAtlasSprite still, TextureAtlasSprite flowing, boolean isGas) {
+    this.still = still;
+    this.flowing = flowing;
+    this.isGas = isGas;
+    this.created = generation;
+
+    Vector3f from = cube.getFromScaled();
+    Vector3f to = cube.getToScaled();
+    this.minY = from.y();
+    this.maxY = to.y();
+    // UVs wrap at block boundaries, so height only scales linearly if the cuboid does not cross one
+    this.linearHeight = Mth.floor(minY) + 1 >= maxY;
+
+    // count faces to size the arrays
+    int quads = 0;
+    for (Direction dir : Direction.values()) {
+      if (cube.getFace(dir) != null) {
+        quads++;
+      }
+    }
+    this.vertices = new float[quads * 4 * STRIDE];
+    this.top = new boolean[quads * 4];
+    this.side = new boolean[quads];
+
+    float[] uvs = new float[8];
+    int rotation = isGas ? 180 : 0;
+    int quad = 0;
+    for (Direction dir : Direction.values()) {
+      FluidFace face = cube.getFace(dir);
+      if (face != null) {
+        boolean isFlowing = face.isFlowing();
+        FluidRenderer.computeQuadUVs(isFlowing ? flowing : still, from, to, dir, (rotation + face.rotation()) % 360, isFlowing, uvs, 0);
+        int[] corners = CORNERS[dir.get3DDataValue()];
+        for (int i = 0; i < 4; i++) {
+          int corner = corners[i];
+          int vertex = quad * 4 + i;
+          int offset = vertex * STRIDE;
+          vertices[offset]     = (corner & 1) != 0 ? to.x() : from.x();
+          vertices[offset + 1] = (corner & 2) != 0 ? to.y() : from.y();
+          vertices[offset + 2] = (corner & 4) != 0 ? to.z() : from.z();
+          vertices[offset + 3] = uvs[i * 2];
+          vertices[offset + 4] = uvs[i * 2 + 1];
+          top[vertex] = (corner & 2) != 0;
+        }
+        side[quad] = dir.getAxis() != Direction.Axis.Y;
+        quad++;
+      }
+    }
+  }
+
+  /** Invalidates all templates, called when the block atlas reloads */
+  public static void clearCache() {
+    generation++;
+  }
+
+  /** Gets the current template generation, changes whenever the block atlas reloads */
+  public static int getGeneration() {
+    return generation;
+  }
+
+  /** Checks if this template is for the given sprites and is still valid */
+  public boolean matches(TextureAtlasSprite still, TextureAtlasSprite flowing, boolean isGas) {
+    return this.still == still && this.flowing == flowing && this.isGas == isGas && this.created == generation;
+  }
+
+  /** Checks if this template can render the given fraction of its height */
+  public boolean canScale(float height) {
+    return linearHeight && height >= 0 && height <= 1;
+  }
+
+  /**
+   * Renders the full cuboid
+   * @param matrix  Render matrix
+   * @param buffer  Buffer instance
+   * @param color   Fluid color
+   * @param light   Quad lighting
+   */
+  public void render(Matrix4f matrix, VertexConsumer buffer, int color, int light) {
+    int light1 = light & 0xFFFF;
+    int light2 = light >> 0x10 & 0xFFFF;
+    int a = color >> 24 & 0xFF;
+    int r = color >> 16 & 0xFF;
+    int g = color >> 8 & 0xFF;
+    int b = color & 0xFF;
+    for (int offset = 0; offset < vertices.length; offset += STRIDE) {
+      buffer.vertex(matrix, vertices[offset], vertices[offset + 1], vertices[offset + 2]).color(r, g, b, a).uv(vertices[offset + 3], vertices[offset + 4]).uv2(light1, light2).endVertex();
+    }
+  }
+
+  /**
+   * Renders the cuboid with a partial height, must check {@link #canScale(float)} first
+   * @param matrix   Render matrix
+   * @param buffer   Buffer instance
+   * @param color    Fluid color
+   * @param light    Quad lighting
+   * @param height   Fraction of the height to render
+   * @param flipped  If true, the bottom of the cuboid moves instead of the top
+   */
+  public void renderScaled(Matrix4f matrix, VertexConsumer buffer, int color, int light, float height, boolean flipped) {
+    int light1 = light & 0xFFFF;
+    int light2 = light >> 0x10 & 0xFFFF;
+    int a = color >> 24 & 0xFF;
+    int r = color >> 16 & 0xFF;
+    int g = color >> 8 & 0xFF;
+    int b = color & 0xFF;
+    float movedY = flipped ? maxY + (height * (minY - maxY)) : minY + (height * (maxY - minY));
+    for (int vertex = 0; vertex < top.length; vertex++) {
+      int offset = vertex * STRIDE;
+      float y = vertices[offset + 1];
+      float u = vertices[offset + 3];
+      float v = vertices[offset + 4];
+      if (top[vertex] != flipped) {
+        y = movedY;
+        // side vertices are paired with the vertex on the other end, UVs move linearly between them
+        if (side[vertex / 4]) {
+          int fixed = (vertex ^ 1) * STRIDE;
+          u = vertices[fixed + 3] + (u - vertices[fixed + 3]) * height;
+          v = vertices[fixed + 4] + (v - vertices[fixed + 4]) * height;
+        }
+      }
+      buffer.vertex(matrix, vertices[offset], y, vertices[offset + 2]).color(r, g, b, a).uv(u, v).uv2(light1, light2).endVertex();
+    }
+  }
+}
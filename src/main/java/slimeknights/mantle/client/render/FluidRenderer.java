@@ -20,6 +20,9 @@ import java.util.List;
 
 @SuppressWarnings({"WeakerAccess", "unused"})
 public class FluidRenderer {
+  /** Reused UV array for {@link #putTexturedQuad(VertexConsumer, Matrix4f, TextureAtlasSprite, Vector3f, Vector3f, Direction, int, int, int, boolean)}, only used on the render thread */
+  private static final float[] QUAD_UVS = new float[8];
+
   /**
    * Gets a block sprite from the given location
    * @param sprite  Sprite name
@@ -60,18 +63,17 @@ public class FluidRenderer {
   }
 
   /**
-   * Adds a quad to the renderer
-   * @param renderer    Renderer instnace
-   * @param matrix      Render matrix
-   * @param sprite      Sprite to render
-   * @param from        Quad start
-   * @param to          Quad end
-   * @param face        Face to render
-   * @param color       Color to use in rendering
-   * @param brightness  Face brightness
-   * @param flowing     If true, half texture coordinates
+   * Computes the UVs for each vertex of a fluid quad, in the order vertices are added by {@link #putTexturedQuad(VertexConsumer, Matrix4f, TextureAtlasSprite, Vector3f, Vector3f, Direction, int, int, int, boolean)}
+   * @param sprite    Sprite to render
+   * @param from      Quad start
+   * @param to        Quad end
+   * @param face      Face to render
+   * @param rotation  Face rotation
+   * @param flowing   If true, half texture coordinates
+   * @param uvs       Array to store the UVs, as U then V for each of the 4 vertices
+   * @param offset    Index in the array to store the first U
    */
-  public static void putTexturedQuad(VertexConsumer renderer, Matrix4f matrix, TextureAtlasSprite sprite, Vector3f from, Vector3f to, Direction face, int color, int brightness, int rotation, boolean flowing) {
+  static void computeQuadUVs(TextureAtlasSprite sprite, Vector3f from, Vector3f to, Direction face, int rotation, boolean flowing, float[] uvs, int offset) {
     // start with texture coordinates
     float x1 = from.x(), y1 = from.y(), z1 = from.z();
     float x2 = to.x(), y2 = to.y(), z2 = to.z();
@@ -168,6 +170,46 @@ public class FluidRenderer {
         u4 = maxU; v4 = minV;
       }
     }
+    uvs[offset]     = u1; uvs[offset + 1] = v1;
+    uvs[offset + 2] = u2; uvs[offset + 3] = v2;
+    uvs[offset + 4] = u3; uvs[offset + 5] = v3;
+    uvs[offset + 6] = u4; uvs[offset + 7] = v4;
+  }
+
+  /**
+   * Adds a quad to the renderer. Must be called on the render thread, use {@link #putTexturedQuad(VertexConsumer, Matrix4f, TextureAtlasSprite, Vector3f, Vector3f, Direction, int, int, int, boolean, float[])} elsewhere.
+   * @param renderer    Renderer instnace
+   * @param matrix      Render matrix
+   * @param sprite      Sprite to render
+   * @param from        Quad start
+   * @param to          Quad end
+   * @param face        Face to render
+   * @param color       Color to use in rendering
+   * @param brightness  Face brightness
+   * @param flowing     If true, half texture coordinates
+   */
+  public static void putTexturedQuad(VertexConsumer renderer, Matrix4f matrix, TextureAtlasSprite sprite, Vector3f from, Vector3f to, Direction face, int color, int brightness, int rotation, boolean flowing) {
+    putTexturedQuad(renderer, matrix, sprite, from, to, face, color, brightness, rotation, flowing, QUAD_UVS);
+  }
+
+  /**
+   * Adds a quad to the renderer
+   * @param renderer    Renderer instnace
+   * @param matrix      Render matrix
+   * @param sprite      Sprite to render
+   * @param from        Quad start
+   * @param to          Quad end
+   * @param face        Face to render
+   * @param color       Color to use in rendering
+   * @param brightness  Face brightness
+   * @param flowing     If true, half texture coordinates
+   * @param uvs         Array of at least 8 floats used to compute UVs, overwritten by this method
+   */
+  public static void putTexturedQuad(VertexConsumer renderer, Matrix4f matrix, TextureAtlasSprite sprite, Vector3f from, Vector3f to, Direction face, int color, int brightness, int rotation, boolean flowing, float[] uvs) {
+    float x1 = from.x(), y1 = from.y(), z1 = from.z();
+    float x2 = to.x(), y2 = to.y(), z2 = to.z();
+    computeQuadUVs(sprite, from, to, face, rotation, flowing, uvs, 0);
+    float u1 = uvs[0], v1 = uvs[1], u2 = uvs[2], v2 = uvs[3], u3 = uvs[4], v3 = uvs[5], u4 = uvs[6], v4 = uvs[7];
     // add quads
     int light1 = brightness & 0xFFFF;
     int light2 = brightness >> 0x10 & 0xFFFF;
@@ -230,6 +272,11 @@ public class FluidRenderer {
    */
   public static void renderCuboid(PoseStack matrices, VertexConsumer buffer, FluidCuboid cube, TextureAtlasSprite still, TextureAtlasSprite flowing, Vector3f from, Vector3f to, int color, int light, boolean isGas) {
     Matrix4f matrix = matrices.last().pose();
+    // full size cuboids can use the precomputed template
+    if (from == cube.getFromScaled() && to == cube.getToScaled()) {
+      cube.getTemplate(still, flowing, isGas).render(matrix, buffer, color, light);
+      return;
+    }
     int rotation = isGas ? 180 : 0;
     for (Direction dir : Direction.values()) {
       FluidFace face = cube.getFace(dir);
@@ -319,13 +366,21 @@ public class FluidRenderer {
     light = withBlockLight(light, type.getLightLevel(fluid));
 
     // determine height based on fluid amount
+    float height = (fluid.getAmount() - offset) / capacity;
+    // gas renders upside down
+    boolean flipped = isGas && flipGas;
+    FluidCuboidTemplate template = cube.getTemplate(still, flowing, isGas);
+    if (template.canScale(height)) {
+      template.renderScaled(matrices.last().pose(), buffer.getBuffer(MantleRenderTypes.FLUID), color, light, height, flipped);
+      return;
+    }
+
+    // cuboid crosses a block boundary or the height is out of bounds, so compute UVs from scratch
     Vector3f from = cube.getFromScaled();
     Vector3f to = cube.getToScaled();
-    // gas renders upside down
     float minY = from.y();
     float maxY = to.y();
-    float height = (fluid.getAmount() - offset) / capacity;
-    if (isGas && flipGas) {
+    if (flipped) {
       from = from.copy();
       from.setY(maxY + (height * (minY - maxY)));
     } else {
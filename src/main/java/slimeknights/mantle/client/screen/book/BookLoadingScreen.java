@@ -0,0 +1,49 @@
+package slimeknights.mantle.client.screen.book;
+
+import com.mojang.blaze3d.vertex.PoseStack;
+import net.minecraft.client.gui.screens.Screen;
+import net.minecraft.network.chat.Component;
+import slimeknights.mantle.client.book.data.BookData;
+
+import java.util.function.Supplier;
+
+/**
+ * Screen shown while a book loads in the background, switches to the book screen once the book is ready
+ */
+public class BookLoadingScreen extends Screen {
+  private static final Component LOADING = Component.translatable("gui.mantle.book.loading");
+
+  private final BookData book;
+  private final Supplier<Screen> bookScreen;
+
+  public BookLoadingScreen(Component title, BookData book, Supplier<Screen> bookScreen) {
+    super(title);
+    this.book = book;
+    this.bookScreen = bookScreen;
+  }
+
+  @Override
+  public void tick() {
+    super.tick();
+    if (this.minecraft != null) {
+      if (this.book.isLoaded()) {
+        this.minecraft.setScreen(this.bookScreen.get());
+      } else if (!this.book.isLoading()) {
+        // book was invalidated before the load finished, so start another
+        this.book.loadAsync();
+      }
+    }
+  }
+
+  @Override
+  public void render(PoseStack matrixStack, int mouseX, int mouseY, float partialTicks) {
+    this.renderBackground(matrixStack);
+    drawCenteredString(matrixStack, this.font, LOADING, this.width / 2, this.height / 2 - this.font.lineHeight / 2, 0xFFFFFF);
+    super.render(matrixStack, mouseX, mouseY, partialTicks);
+  }
+
+  @Override
+  public boolean isPauseScreen() {
+    return false;
+  }
+}
@@ -5,6 +5,7 @@ import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.math.Vector3f;
 import com.mojang.math.Vector4f;
+import lombok.Getter;
 import net.minecraft.advancements.Advancement;
 import net.minecraft.advancements.AdvancementProgress;
 import net.minecraft.client.Minecraft;
@@ -129,6 +130,11 @@ public class BookScreen extends Screen {
     if(this.minecraft == null) {
       return;
     }
+    // book is reloading in the background, wait for it to finish before touching its pages
+    if (this.book.isLoading()) {
+      this.minecraft.setScreen(new BookLoadingScreen(this.title, this.book, () -> this));
+      return;
+    }
 
     Font fontRenderer = getFontRenderer();
 
@@ -506,7 +512,9 @@ public class BookScreen extends Screen {
 
   @Override
   public void removed() {
-    if (this.minecraft == null || this.minecraft.player == null) {
+    // elements are rebuilt in init if the screen is shown again
+    this.clearElements();
+    if (this.minecraft == null || this.minecraft.player == null || this.book.isLoading()) {
       return;
     }
     // find what page to update
@@ -630,14 +638,20 @@ public class BookScreen extends Screen {
   public void openCover() {
     this._setPage(-1);
 
-    this.leftElements.clear();
-    this.rightElements.clear();
+    this.clearElements();
     this.buildPages();
   }
 
-  private void buildPages() {
+  /** Closes and removes all elements on both pages */
+  private void clearElements() {
+    this.leftElements.forEach(BookElement::close);
+    this.rightElements.forEach(BookElement::close);
     this.leftElements.clear();
     this.rightElements.clear();
+  }
+
+  private void buildPages() {
+    this.clearElements();
 
     if (this.page == -1) {
       return;
@@ -673,6 +687,9 @@ public class BookScreen extends Screen {
 
     private final HashMap<Advancement, AdvancementProgress> progress = new HashMap<>();
     private final HashMap<ResourceLocation, Advancement> nameCache = new HashMap<>();
+    /** Incremented on every change, used to know when page indexes need rebuilding */
+    @Getter
+    private int version = 0;
 
     @Nullable
     public AdvancementProgress getProgress(String id) {
@@ -691,6 +708,7 @@ public class BookScreen extends Screen {
     @Override
     public void onUpdateAdvancementProgress(Advancement advancement, AdvancementProgress advancementProgress) {
       this.progress.put(advancement, advancementProgress);
+      this.version++;
     }
 
     @Override
@@ -701,29 +719,34 @@ public class BookScreen extends Screen {
     @Override
     public void onAddAdvancementRoot(Advancement advancement) {
       this.nameCache.put(advancement.getId(), advancement);
+      this.version++;
     }
 
     @Override
     public void onRemoveAdvancementRoot(Advancement advancement) {
       this.progress.remove(advancement);
       this.nameCache.remove(advancement.getId());
+      this.version++;
     }
 
     @Override
     public void onAddAdvancementTask(Advancement advancement) {
       this.nameCache.put(advancement.getId(), advancement);
+      this.version++;
     }
 
     @Override
     public void onRemoveAdvancementTask(Advancement advancement) {
       this.progress.remove(advancement);
       this.nameCache.remove(advancement.getId());
+      this.version++;
     }
 
     @Override
     public void onAdvancementsCleared() {
       this.progress.clear();
       this.nameCache.clear();
+      this.version++;
     }
   }
 }
@@ -46,6 +46,11 @@ public abstract class BookElement extends GuiComponent {
 
   }
 
+  /** Called when the element is removed from the screen, used to release any resources held by the element */
+  public void close() {
+
+  }
+
   public void renderToolTip(PoseStack matrixStack, Font fontRenderer, ItemStack stack, int x, int y) {
     List<Component> list = stack.getTooltipLines(this.mc.player, this.mc.options.advancedItemTooltips ? TooltipFlag.Default.ADVANCED : TooltipFlag.Default.NORMAL);
 
@@ -1,13 +1,16 @@
 package slimeknights.mantle.client.screen.book.element;
 
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
 import com.mojang.blaze3d.vertex.PoseStack;
 import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexBuffer;
+import com.mojang.math.Matrix4f;
 import com.mojang.math.Quaternion;
 import com.mojang.math.Transformation;
 import com.mojang.math.Vector3f;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.Font;
-import net.minecraft.client.renderer.MultiBufferSource;
 import net.minecraft.client.renderer.RenderType;
 import net.minecraft.client.renderer.block.BlockRenderDispatcher;
 import net.minecraft.client.renderer.texture.OverlayTexture;
@@ -22,7 +25,9 @@ import slimeknights.mantle.client.book.structure.level.TemplateLevel;
 import slimeknights.mantle.client.render.MantleRenderTypes;
 import slimeknights.mantle.client.screen.book.BookScreen;
 
+import javax.annotation.Nullable;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.IntStream;
 
 public class StructureElement extends SizedBookElement {
@@ -39,6 +44,14 @@ public class StructureElement extends SizedBookElement {
   public long lastStep = -1;
   public long lastPrintedErrorTimeMs = -1;
 
+  /** Mesh of the visible blocks, rebuilt when the visible blocks change */
+  @Nullable
+  private VertexBuffer mesh = null;
+  /** Value of {@link StructureInfo#getLimiter()} when the mesh was built */
+  private int meshLimiter = -1;
+  /** If true, the mesh contains no blocks */
+  private boolean meshEmpty = true;
+
   public StructureElement(int x, int y, int width, int height, StructureTemplate template, List<StructureTemplate.StructureBlockInfo> structure) {
     super(x, y, width, height);
 
@@ -63,7 +76,6 @@ public class StructureElement extends SizedBookElement {
 
   @Override
   public void draw(PoseStack transform, int mouseX, int mouseY, float partialTicks, Font fontRenderer) {
-    MultiBufferSource.BufferSource buffer = MultiBufferSource.immediate(Tesselator.getInstance().getBuilder());
     PoseStack.Pose lastEntryBeforeTry = transform.last();
 
     try {
@@ -84,54 +96,21 @@ public class StructureElement extends SizedBookElement {
       int structureWidth = this.renderInfo.structureWidth;
       int structureHeight = this.renderInfo.structureHeight;
 
-      transform.pushPose();
+      // only rebuild the mesh when the visible blocks change, rotation and zoom are just a matrix
+      if (this.mesh == null || this.meshLimiter != this.renderInfo.getLimiter()) {
+        this.buildMesh();
+      }
 
-      final BlockRenderDispatcher blockRender = Minecraft.getInstance().getBlockRenderer();
+      transform.pushPose();
 
       transform.translate(this.transX, this.transY, Math.max(structureHeight, Math.max(structureWidth, structureLength)));
       transform.scale(this.scale, -this.scale, 1);
       this.additionalTransform.push(transform);
-      transform.mulPose(new Quaternion(0, 0, 0, true));
 
       transform.translate(structureLength / -2f, structureHeight / -2f, structureWidth / -2f);
 
-      for (int h = 0; h < structureHeight; h++) {
-        for (int l = 0; l < structureLength; l++) {
-          for (int w = 0; w < structureWidth; w++) {
-            BlockPos pos = new BlockPos(l, h, w);
-            BlockState state = this.structureWorld.getBlockState(pos);
-
-            if (!state.isAir()) {
-              transform.pushPose();
-              transform.translate(l, h, w);
-
-              int overlay;
-
-              if (pos.equals(new BlockPos(1, 1, 1)))
-                overlay = OverlayTexture.pack(0, true);
-              else
-                overlay = OverlayTexture.NO_OVERLAY;
-
-              ModelData modelData = ModelData.EMPTY;
-              BlockEntity te = structureWorld.getBlockEntity(pos);
-
-              if (te != null) {
-                modelData = te.getModelData();
-              }
-
-              // TODO: verify that we should be using all types here
-              BakedModel model = blockRender.getBlockModel(state);
-              for (RenderType renderType : model.getRenderTypes(state, structureWorld.random, modelData)) {
-                blockRender.getModelRenderer().tesselateBlock(
-                  structureWorld, blockRender.getBlockModel(state), state, pos, transform,
-                  buffer.getBuffer(MantleRenderTypes.TRANSLUCENT_FULLBRIGHT), false, structureWorld.random, state.getSeed(pos),
-                  overlay, modelData, renderType);
-              }
-
-              transform.popPose();
-            }
-          }
-        }
+      if (!this.meshEmpty) {
+        this.drawMesh(transform.last().pose());
       }
 
       transform.popPose();
@@ -148,8 +127,88 @@ public class StructureElement extends SizedBookElement {
       while (lastEntryBeforeTry != transform.last())
         transform.popPose();
     }
+  }
+
+  /** Tessellates all visible blocks into the cached mesh, relative to the structure origin */
+  private void buildMesh() {
+    RenderType meshType = MantleRenderTypes.TRANSLUCENT_FULLBRIGHT;
+    BufferBuilder builder = Tesselator.getInstance().getBuilder();
+    builder.begin(meshType.mode(), meshType.format());
+
+    final BlockRenderDispatcher blockRender = Minecraft.getInstance().getBlockRenderer();
+    PoseStack transform = new PoseStack();
+    BlockPos.MutableBlockPos pos = new BlockPos.MutableBlockPos();
+    boolean empty = true;
+
+    for (int h = 0; h < this.renderInfo.structureHeight; h++) {
+      for (int l = 0; l < this.renderInfo.structureLength; l++) {
+        for (int w = 0; w < this.renderInfo.structureWidth; w++) {
+          pos.set(l, h, w);
+          BlockState state = this.structureWorld.getBlockState(pos);
+
+          if (!state.isAir()) {
+            transform.pushPose();
+            transform.translate(l, h, w);
+
+            int overlay;
+
+            if (l == 1 && h == 1 && w == 1)
+              overlay = OverlayTexture.pack(0, true);
+            else
+              overlay = OverlayTexture.NO_OVERLAY;
+
+            ModelData modelData = ModelData.EMPTY;
+            BlockEntity te = structureWorld.getBlockEntity(pos);
+
+            if (te != null) {
+              modelData = te.getModelData();
+            }
+
+            // TODO: verify that we should be using all types here
+            BakedModel model = blockRender.getBlockModel(state);
+            for (RenderType renderType : model.getRenderTypes(state, structureWorld.random, modelData)) {
+              blockRender.getModelRenderer().tesselateBlock(
+                structureWorld, model, state, pos, transform,
+                builder, false, structureWorld.random, state.getSeed(pos),
+                overlay, modelData, renderType);
+            }
+            empty = false;
+
+            transform.popPose();
+          }
+        }
+      }
+    }
+
+    if (this.mesh == null) {
+      this.mesh = new VertexBuffer();
+    }
+    this.mesh.bind();
+    this.mesh.upload(builder.end());
+    VertexBuffer.unbind();
+    this.meshEmpty = empty;
+    this.meshLimiter = this.renderInfo.getLimiter();
+  }
 
-    buffer.endBatch();
+  /** Draws the cached mesh with the given pose */
+  private void drawMesh(Matrix4f pose) {
+    assert this.mesh != null;
+    RenderType meshType = MantleRenderTypes.TRANSLUCENT_FULLBRIGHT;
+    meshType.setupRenderState();
+    Matrix4f modelView = RenderSystem.getModelViewMatrix().copy();
+    modelView.multiply(pose);
+    this.mesh.bind();
+    this.mesh.drawWithShader(modelView, RenderSystem.getProjectionMatrix(), Objects.requireNonNull(RenderSystem.getShader()));
+    VertexBuffer.unbind();
+    meshType.clearRenderState();
+  }
+
+  @Override
+  public void close() {
+    if (this.mesh != null) {
+      this.mesh.close();
+      this.mesh = null;
+    }
   }
 
   @Override
@@ -1,36 +1,52 @@
 package slimeknights.mantle.command;
 
-import com.google.common.collect.Maps;
 import com.mojang.brigadier.builder.LiteralArgumentBuilder;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
+import com.mojang.brigadier.exceptions.SimpleCommandExceptionType;
+import net.minecraft.Util;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess.RegistryEntry;
 import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.ClickEvent.Action;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.server.MinecraftServer;
-import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.tags.TagLoader;
 import net.minecraft.tags.TagManager;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.util.JsonHelper;
 
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
- * Dumps all tags to a folder
+ * Dumps all tags to a folder or zip archive. Parsing and writing run off the server thread.
  */
 public class DumpAllTagsCommand {
   private static final String TAG_DUMP_PATH = "./mantle_data_dump";
+  private static final SimpleCommandExceptionType ALREADY_RUNNING = new SimpleCommandExceptionType(Component.translatable("command.mantle.dump_all_tags.running"));
+  /** Set while a dump is in progress, prevents two dumps writing to the same location */
+  private static final AtomicBoolean RUNNING = new AtomicBoolean(false);
 
   /**
    * Registers this sub command with the root command
@@ -38,9 +54,11 @@ public class DumpAllTagsCommand {
    */
   public static void register(LiteralArgumentBuilder<CommandSourceStack> subCommand) {
     subCommand.requires(sender -> sender.hasPermission(MantleCommand.PERMISSION_EDIT_SPAWN))
-              .executes(DumpAllTagsCommand::runAll)
+              .executes(context -> runAll(context, false))
+              .then(Commands.literal("zip").executes(context -> runAll(context, true)))
               .then(Commands.argument("type", RegistryArgument.registry()).suggests(MantleCommand.REGISTRY)
-                            .executes(DumpAllTagsCommand::runType));
+                            .executes(context -> runType(context, false))
+                            .then(Commands.literal("zip").executes(context -> runType(context, true))));
   }
 
   /** Gets the path for the output */
@@ -58,51 +76,150 @@ public class DumpAllTagsCommand {
   }
 
   /** Dumps all tags to the game directory */
-  private static int runAll(CommandContext<CommandSourceStack> context) {
-    File output = getOutputFile(context);
-    int tagsDumped = context.getSource().registryAccess().registries().mapToInt(r -> runForFolder(context, r.key(), output)).sum();
-    // print the output path
-    context.getSource().sendSuccess(Component.translatable("command.mantle.dump_all_tags.success", getOutputComponent(output)), true);
-    return tagsDumped;
+  private static int runAll(CommandContext<CommandSourceStack> context, boolean zip) throws CommandSyntaxException {
+    List<ResourceKey<? extends Registry<?>>> registries = context.getSource().registryAccess().registries().<ResourceKey<? extends Registry<?>>>map(RegistryEntry::key).toList();
+    return startDump(context, registries, zip, output -> Component.translatable("command.mantle.dump_all_tags.success", output));
   }
 
   /** Dumps a single type of tags to the game directory */
-  private static int runType(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
-    File output = getOutputFile(context);
+  private static int runType(CommandContext<CommandSourceStack> context, boolean zip) throws CommandSyntaxException {
     Registry<?> registry = RegistryArgument.getResult(context, "type");
-    int result = runForFolder(context, registry.key(), output);
-    // print result
-    context.getSource().sendSuccess(Component.translatable("command.mantle.dump_all_tags.type_success", registry.key().location(), getOutputComponent(output)), true);
-    return result;
+    return startDump(context, List.of(registry.key()), zip, output -> Component.translatable("command.mantle.dump_all_tags.type_success", registry.key().location(), output));
   }
 
   /**
-   * Runs the view-tag command
-   * @param context  Tag context
-   * @return  Integer return
+   * Starts dumping the given registries in the background
+   * @param context     Command context
+   * @param registries  Registries to dump
+   * @param zip         If true, writes a single zip archive instead of a folder
+   * @param success     Message to show on completion given the output component
+   * @return  Number of registries being dumped
    */
-  private static int runForFolder(CommandContext<CommandSourceStack> context, ResourceKey<? extends Registry<?>> key, File output) {
-    Map<ResourceLocation,List<TagLoader.EntryWithSource>> foundTags = Maps.newHashMap();
-    MinecraftServer server = context.getSource().getServer();
+  private static int startDump(CommandContext<CommandSourceStack> context, List<ResourceKey<? extends Registry<?>>> registries, boolean zip, Function<Component,Component> success) throws CommandSyntaxException {
+    if (!RUNNING.compareAndSet(false, true)) {
+      throw ALREADY_RUNNING.create();
+    }
+    CommandSourceStack source = context.getSource();
+    MinecraftServer server = source.getServer();
+    // grab the manager now, a reload during the dump will swap it out
     ResourceManager manager = server.getResourceManager();
-    ResourceLocation tagType = key.location();
+    File output = zip ? server.getFile(TAG_DUMP_PATH + ".zip") : getOutputFile(context);
+    Consumer<Component> progress = message -> server.execute(() -> source.sendSuccess(message, false));
+    source.sendSuccess(Component.translatable("command.mantle.dump_all_tags.started", registries.size()), true);
+    CompletableFuture.supplyAsync(() -> dump(manager, registries, output.toPath(), zip, progress), Util.backgroundExecutor())
+                     .whenComplete((tags, error) -> {
+                       RUNNING.set(false);
+                       if (error != null) {
+                         Mantle.logger.error("Failed to dump tags to {}", output, error);
+                         server.execute(() -> source.sendFailure(Component.translatable("command.mantle.dump_all_tags.failed", getOutputComponent(output))));
+                       } else {
+                         server.execute(() -> source.sendSuccess(success.apply(getOutputComponent(output)), true));
+                       }
+                     });
+    return registries.size();
+  }
 
-    // iterate all tags from the datapack
+  /**
+   * Dumps tags for all the given registries. Each registry is written while the next one is parsed.
+   * @param manager     Resource manager
+   * @param registries  Registries to dump
+   * @param output      Output folder or zip file
+   * @param zip         If true, writes a zip archive
+   * @param progress    Consumer to report progress
+   * @return  Number of tags dumped
+   */
+  private static int dump(ResourceManager manager, List<ResourceKey<? extends Registry<?>>> registries, Path output, boolean zip, Consumer<Component> progress) {
+    try (DumpWriter writer = new DumpWriter(output, zip)) {
+      // writes are chained so they stay in order, which matters for the zip
+      CompletableFuture<Void> writes = CompletableFuture.completedFuture(null);
+      int tags = 0;
+      int total = registries.size();
+      int reported = 0;
+      try {
+        for (int i = 0; i < total; i++) {
+          List<DumpedTag> parsed = parseFolder(manager, registries.get(i));
+          tags += parsed.size();
+          writes = writes.thenRunAsync(() -> writer.write(parsed), Util.ioPool());
+          // report each quarter of the way there
+          int quarter = (i + 1) * 4 / total;
+          if (quarter > reported && i + 1 < total) {
+            reported = quarter;
+            progress.accept(Component.translatable("command.mantle.dump_all_tags.progress", i + 1, total, tags));
+          }
+        }
+      } finally {
+        // writer cannot be closed until pending writes finish
+        writes.join();
+      }
+      return tags;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+   * Parses all tags for the given registry
+   * @param manager  Resource manager
+   * @param key      Registry key
+   * @return  List of merged tags ready to write
+   */
+  private static List<DumpedTag> parseFolder(ResourceManager manager, ResourceKey<? extends Registry<?>> key) {
+    ResourceLocation tagType = key.location();
     String dataPackFolder = TagManager.getTagDir(key);
-    for (Map.Entry<ResourceLocation,List<Resource>> entry : manager.listResourceStacks(dataPackFolder, fileName -> fileName.getPath().endsWith(".json")).entrySet()) {
+    // iterate all tags from the datapack
+    return manager.listResourceStacks(dataPackFolder, fileName -> fileName.getPath().endsWith(".json")).entrySet().parallelStream().map(entry -> {
       ResourceLocation resourcePath = entry.getKey();
       ResourceLocation tagId = JsonHelper.localize(resourcePath, dataPackFolder, ".json");
-      DumpTagCommand.parseTag(entry.getValue(), foundTags.computeIfAbsent(resourcePath, id -> new ArrayList<>()), tagType, tagId, resourcePath);
+      List<TagLoader.EntryWithSource> entries = new ArrayList<>();
+      DumpTagCommand.parseTag(entry.getValue(), entries, tagType, tagId, resourcePath);
+      // TODO: is it worth including the sources anywhere in the dump?
+      return new DumpedTag(resourcePath.getNamespace() + "/" + resourcePath.getPath(), DumpTagCommand.tagToJson(entries).getBytes(StandardCharsets.UTF_8));
+    }).toList();
+  }
+
+  /** Merged tag ready to write */
+  private record DumpedTag(String path, byte[] json) {}
+
+  /** Writes dumped tags to either a folder or a zip archive */
+  private static class DumpWriter implements Closeable {
+    private final Path output;
+    @Nullable
+    private final ZipOutputStream zip;
+
+    private DumpWriter(Path output, boolean zip) throws IOException {
+      this.output = output;
+      if (zip) {
+        Files.createDirectories(output.getParent());
+        this.zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(output)));
+      } else {
+        this.zip = null;
+      }
     }
 
-    // save all tags
-    for (Entry<ResourceLocation, List<TagLoader.EntryWithSource>> entry : foundTags.entrySet()) {
-      ResourceLocation location = entry.getKey();
-      Path path = output.toPath().resolve(location.getNamespace() + "/" + location.getPath());
-      // TODO: is it worth including the sources anywhere in the dump?
-      DumpTagCommand.saveTag(entry.getValue(), path);
+    /** Writes all tags in the list */
+    private void write(List<DumpedTag> tags) {
+      for (DumpedTag tag : tags) {
+        try {
+          if (zip != null) {
+            zip.putNextEntry(new ZipEntry(tag.path));
+            zip.write(tag.json);
+            zip.closeEntry();
+          } else {
+            Path path = output.resolve(tag.path);
+            Files.createDirectories(path.getParent());
+            Files.write(path, tag.json);
+          }
+        } catch (IOException ex) {
+          Mantle.logger.error("Couldn't save tag to {}", tag.path, ex);
+        }
+      }
     }
 
-    return foundTags.size();
+    @Override
+    public void close() throws IOException {
+      if (zip != null) {
+        zip.close();
+      }
+    }
   }
 }
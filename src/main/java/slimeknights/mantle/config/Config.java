@@ -3,6 +3,7 @@ package slimeknights.mantle.config;
 import net.minecraftforge.common.ForgeConfigSpec;
 import net.minecraftforge.common.ForgeConfigSpec.BooleanValue;
 import net.minecraftforge.common.ForgeConfigSpec.ConfigValue;
+import net.minecraftforge.common.ForgeConfigSpec.IntValue;
 
 import java.util.Arrays;
 import java.util.List;
@@ -13,10 +14,16 @@ import java.util.List;
 public class Config {
 	/** If true, enables the heart renderer */
 	public static final BooleanValue EXTRA_HEART_RENDERER;
+	/** Maximum number of quads kept in the retextured model cache */
+	public static final IntValue RETEXTURED_CACHE_QUADS;
+	/** If true, retextured models are baked for all textures in their tags over the first few ticks after joining a world */
+	public static final BooleanValue PREBAKE_RETEXTURED_MODELS;
 
 	/** List of preferences for tag outputs */
 	private static final List<String> DEFAULT_TAG_PREFERENCES = Arrays.asList("minecraft", "tconstruct", "tmechworks", "create", "immersiveengineering", "mekanism", "thermal");
 	public static final ConfigValue<List<? extends String>> TAG_PREFERENCES;
+	/** If true, tag preferences are resolved for all item tags when tags update */
+	public static final BooleanValue BULK_TAG_PREFERENCES;
 
 	public static final ForgeConfigSpec CLIENT_SPEC, SERVER_SPEC;
 
@@ -31,11 +38,24 @@ public class Config {
         "Mod authors: this config is not meant for compatibility with your heart renderer, cancel the RenderGameOverlayEvent.Pre event and our logic won't run")
       .translation("config.mantle.extraHeartRenderer")
       .define("extraHeartRenderer", true);
+		RETEXTURED_CACHE_QUADS = client
+      .comment(
+        "Maximum number of quads to keep in the cache of retextured models, such as tables with a custom plank texture.",
+        "Least recently used models are removed once the limit is exceeded, and get rebaked the next time they are rendered.")
+      .translation("config.mantle.retexturedCacheQuads")
+      .defineInRange("retexturedCacheQuads", 100000, 0, Integer.MAX_VALUE);
+		PREBAKE_RETEXTURED_MODELS = client
+      .comment("If true, retextured models are baked for every texture in their item tag over the first few ticks after joining a world, reducing stutter the first time one is rendered.")
+      .translation("config.mantle.prebakeRetexturedModels")
+      .define("prebakeRetexturedModels", false);
 
 		// server options
 		TAG_PREFERENCES = server.comment("Preferences for outputs from tags used in automatic compat in recipes")
                             .translation("config.mantle.tagPreferences")
                             .defineList("tagPreferences", DEFAULT_TAG_PREFERENCES, str -> true);
+		BULK_TAG_PREFERENCES = server.comment("If true, resolves tag preferences for every item tag in parallel when tags update instead of as recipes request them. May speed up reloading for large packs.")
+                                 .translation("config.mantle.bulkTagPreferences")
+                                 .define("bulkTagPreferences", false);
 
 		CLIENT_SPEC = client.build();
 		SERVER_SPEC = server.build();
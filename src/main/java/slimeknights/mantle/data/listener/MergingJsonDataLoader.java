@@ -15,6 +15,7 @@ import slimeknights.mantle.util.JsonHelper;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +36,15 @@ public abstract class MergingJsonDataLoader<B> implements ResourceManagerReloadL
   protected final String folder;
   @VisibleForTesting
   protected final Function<ResourceLocation,B> builderConstructor;
+  /**
+   * If true, resource stacks are read and parsed into JSON on the common fork join pool before merging.
+   * Merging into the builder still happens on the calling thread in pack order, so {@link #parse(Object, ResourceLocation, JsonElement)} does not need to be thread safe.
+   */
+  protected final boolean parallel;
+
+  public MergingJsonDataLoader(Gson gson, String folder, Function<ResourceLocation,B> builderConstructor) {
+    this(gson, folder, builderConstructor, false);
+  }
 
   /**
    * Parses a particular JSON into the builder
@@ -54,25 +64,68 @@ public abstract class MergingJsonDataLoader<B> implements ResourceManagerReloadL
 
   @Override
   public void onResourceManagerReload(ResourceManager manager) {
+    long time = System.nanoTime();
     Map<ResourceLocation,B> map = new HashMap<>();
-    for (Entry<ResourceLocation,List<Resource>> entry : manager.listResourceStacks(folder, fileName -> fileName.getPath().endsWith(".json")).entrySet()) {
-      ResourceLocation filePath = entry.getKey();
-      ResourceLocation id = JsonHelper.localize(filePath, folder, ".json");
+    List<Entry<ResourceLocation,List<Resource>>> stacks = new ArrayList<>(manager.listResourceStacks(folder, fileName -> fileName.getPath().endsWith(".json")).entrySet());
+    if (parallel) {
+      // parallel stream keeps encounter order, so merging the results is deterministic
+      List<ParsedStack> parsed = stacks.parallelStream().map(entry -> readStack(entry.getKey(), entry.getValue())).toList();
+      for (ParsedStack stack : parsed) {
+        mergeStack(map, stack);
+      }
+    } else {
+      for (Entry<ResourceLocation,List<Resource>> entry : stacks) {
+        mergeStack(map, readStack(entry.getKey(), entry.getValue()));
+      }
+    }
+    finishLoad(map, manager);
+    log.debug("Loaded {} data files from {} into {} entries in {} ms", stacks.size(), folder, map.size(), (System.nanoTime() - time) / 1000000f);
+  }
 
-      for (Resource resource : entry.getValue()) {
-        try (Reader reader = resource.openAsReader()) {
-          JsonElement json = GsonHelper.fromJson(gson, reader, JsonElement.class);
-          if (json == null) {
-            log.error("Couldn't load data file {} from {} in data pack {} as its null or empty", id, filePath, resource.sourcePackId());
-          } else {
-            B builder = map.computeIfAbsent(id, builderConstructor);
-            parse(builder, id, json);
-          }
-        } catch (RuntimeException | IOException ex) {
-          log.error("Couldn't parse data file {} from {} in data pack {}", id, filePath, resource.sourcePackId(), ex);
+  /**
+   * Reads all JSON in the given resource stack, logging any files that fail to read. Safe to call from worker threads.
+   * @param filePath  Path of the file in the resource manager
+   * @param stack     Resources for the file in pack order
+   * @return  Parsed stack
+   */
+  private ParsedStack readStack(ResourceLocation filePath, List<Resource> stack) {
+    ResourceLocation id = JsonHelper.localize(filePath, folder, ".json");
+    List<ParsedJson> jsons = new ArrayList<>(stack.size());
+    for (Resource resource : stack) {
+      try (Reader reader = resource.openAsReader()) {
+        JsonElement json = GsonHelper.fromJson(gson, reader, JsonElement.class);
+        if (json == null) {
+          log.error("Couldn't load data file {} from {} in data pack {} as its null or empty", id, filePath, resource.sourcePackId());
+        } else {
+          jsons.add(new ParsedJson(resource.sourcePackId(), json));
         }
+      } catch (RuntimeException | IOException ex) {
+        log.error("Couldn't parse data file {} from {} in data pack {}", id, filePath, resource.sourcePackId(), ex);
+      }
+    }
+    return new ParsedStack(id, filePath, jsons);
+  }
+
+  /**
+   * Merges all JSON from the given stack into its builder, logging any files that fail to parse
+   * @param map    Map of builders
+   * @param stack  Stack to merge
+   */
+  private void mergeStack(Map<ResourceLocation,B> map, ParsedStack stack) {
+    ResourceLocation id = stack.id;
+    for (ParsedJson json : stack.jsons) {
+      try {
+        B builder = map.computeIfAbsent(id, builderConstructor);
+        parse(builder, id, json.json);
+      } catch (RuntimeException ex) {
+        log.error("Couldn't parse data file {} from {} in data pack {}", id, stack.filePath, json.packId, ex);
       }
     }
-    finishLoad(map, manager);
   }
+
+  /** JSON read from a single resource */
+  private record ParsedJson(String packId, JsonElement json) {}
+
+  /** All JSON read for a single file path, in pack order */
+  private record ParsedStack(ResourceLocation id, ResourceLocation filePath, List<ParsedJson> jsons) {}
 }
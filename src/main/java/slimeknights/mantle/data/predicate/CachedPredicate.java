@@ -0,0 +1,238 @@
+package slimeknights.mantle.data.predicate;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import com.google.gson.JsonObject;
+import lombok.RequiredArgsConstructor;
+import net.minecraft.core.IdMap;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
+import slimeknights.mantle.data.registry.GenericLoaderRegistry.IGenericLoader;
+
+import javax.annotation.Nullable;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Predicate wrapper that caches the result of another predicate by the ID of the input in an ID map, such as a registry or all block states.
+ * Caches are cleared each time tags update, so the wrapped predicate must only depend on the ID map value and its tags.
+ * <p>
+ * This wrapper serializes as the wrapped predicate, so it is not visible in JSON or the network. Its loader is not registered, so it is
+ * never returned from a registry lookup and cannot be cast to another loader's predicate type.
+ * @param <T>  Predicate type
+ * @see #dense(IJsonPredicate, IdMap)
+ * @see #lazy(IJsonPredicate, IdMap, Function)
+ */
+@RequiredArgsConstructor(access = AccessLevel.PROTECTED)
+public abstract class CachedPredicate<T> implements IJsonPredicate<T> {
+  /** Loader for all cached predicates, writing them as the wrapped predicate */
+  @SuppressWarnings("rawtypes")
+  private static final IGenericLoader LOADER = new Loader();
+  /** Incremented each time tags update, invalidating all caches */
+  private static final AtomicInteger GENERATION = new AtomicInteger();
+
+  /** Registers the listener with the event bus */
+  public static void init() {
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, e -> GENERATION.incrementAndGet());
+  }
+
+  /**
+   * Creates a cache that computes the result for every value in the ID map at once on the first match after tags update.
+   * Best for small ID maps where most values are matched, such as block states.
+   * @param predicate  Predicate to cache
+   * @param ids        ID map containing all inputs
+   * @return  Cached predicate
+   */
+  public static <T> IJsonPredicate<T> dense(IJsonPredicate<T> predicate, IdMap<T> ids) {
+    return new Dense<>(predicate, ids);
+  }
+
+  /**
+   * Creates a cache that computes the result for each ID the first time it is matched.
+   * @param predicate  Predicate to cache
+   * @param ids        ID map for the key
+   * @param key        Function mapping the input to the key, the predicate must give the same result for all inputs with the same key
+   * @return  Cached predicate
+   */
+  public static <T,R> IJsonPredicate<T> lazy(IJsonPredicate<T> predicate, IdMap<R> ids, Function<T,R> key) {
+    return new Lazy<>(predicate, ids, key);
+  }
+
+  /** Predicate being cached */
+  @Getter
+  protected final IJsonPredicate<T> predicate;
+
+  /** Gets the current tag generation */
+  protected static int generation() {
+    return GENERATION.get();
+  }
+
+  /**
+   * Returns a loader that serializes this as the wrapped predicate.
+   * Registries write the wrapped predicate's type key, see {@link PredicateRegistry#unwrap(IJsonPredicate)}.
+   */
+  @SuppressWarnings("unchecked")
+  @Override
+  public IGenericLoader<? extends IJsonPredicate<T>> getLoader() {
+    return LOADER;
+  }
+
+  @Override
+  public String toString() {
+    return getClass().getSimpleName() + "[" + predicate + "]";
+  }
+
+
+  /**
+   * Cache that computes all values at once into a bitset.
+   * Each match still looks up the input's ID in the ID map before the bit test. For block states that is an identity hash lookup in
+   * {@link net.minecraft.world.level.block.Block#BLOCK_STATE_REGISTRY}, which is cheap next to most predicates but not a single bit test.
+   * Storing the ID on the state would avoid the lookup, but requires patching {@link net.minecraft.world.level.block.state.BlockState}.
+   */
+  private static class Dense<T> extends CachedPredicate<T> {
+    /** Map of all values to cache */
+    private final IdMap<T> ids;
+    /** Last computed results, null if not yet computed */
+    @Nullable
+    private volatile DenseCache cache = null;
+
+    private Dense(IJsonPredicate<T> predicate, IdMap<T> ids) {
+      super(predicate);
+      this.ids = ids;
+    }
+
+    /** Computes the results for all values */
+    private DenseCache compute(int generation) {
+      BitSet bits = new BitSet(ids.size());
+      int size = 0;
+      for (T value : ids) {
+        int id = ids.getId(value);
+        if (id >= size) {
+          size = id + 1;
+        }
+        if (predicate.matches(value)) {
+          bits.set(id);
+        }
+      }
+      DenseCache cache = new DenseCache(generation, size, bits);
+      this.cache = cache;
+      return cache;
+    }
+
+    @Override
+    public boolean matches(T input) {
+      int id = ids.getId(input);
+      if (id < 0) {
+        return predicate.matches(input);
+      }
+      DenseCache cache = this.cache;
+      int generation = generation();
+      if (cache == null || cache.generation != generation) {
+        cache = compute(generation);
+      }
+      // values added after computing are not in the cache
+      if (id >= cache.size) {
+        return predicate.matches(input);
+      }
+      return cache.bits.get(id);
+    }
+
+    @Override
+    public IJsonPredicate<T> inverted() {
+      return new Dense<>(predicate.inverted(), ids);
+    }
+  }
+
+  /** Results from a single tag generation. Never modified after creation */
+  private record DenseCache(int generation, int size, BitSet bits) {}
+
+
+  /** Cache that computes each value the first time it is matched */
+  private static class Lazy<T,R> extends CachedPredicate<T> {
+    /** Result not yet computed */
+    private static final byte UNKNOWN = 0;
+    /** Predicate does not match */
+    private static final byte FALSE = 1;
+    /** Predicate matches */
+    private static final byte TRUE = 2;
+
+    /** Map of all keys */
+    private final IdMap<R> ids;
+    /** Function mapping the input to the key */
+    private final Function<T,R> key;
+    /** Current results, null if not yet created */
+    @Nullable
+    private volatile LazyCache cache = null;
+
+    private Lazy(IJsonPredicate<T> predicate, IdMap<R> ids, Function<T,R> key) {
+      super(predicate);
+      this.ids = ids;
+      this.key = key;
+    }
+
+    @Override
+    public boolean matches(T input) {
+      int id = ids.getId(key.apply(input));
+      LazyCache cache = this.cache;
+      int generation = generation();
+      if (cache == null || cache.generation != generation) {
+        cache = new LazyCache(generation, new byte[ids.size()]);
+        this.cache = cache;
+      }
+      // values added after creating the cache are not in the cache
+      byte[] results = cache.results;
+      if (id < 0 || id >= results.length) {
+        return predicate.matches(input);
+      }
+      // two threads racing to fill the same ID will both write the same value, so no need to synchronize
+      byte result = results[id];
+      if (result == UNKNOWN) {
+        boolean matches = predicate.matches(input);
+        results[id] = matches ? TRUE : FALSE;
+        return matches;
+      }
+      return result == TRUE;
+    }
+
+    @Override
+    public IJsonPredicate<T> inverted() {
+      return new Lazy<>(predicate.inverted(), ids, key);
+    }
+  }
+
+  /** Results for a single tag generation, filled in as values are matched */
+  private record LazyCache(int generation, byte[] results) {}
+
+
+  /** Loader that writes cached predicates using the loader of the wrapped predicate. Cached predicates are created in code, so they cannot be read */
+  private static class Loader implements IGenericLoader<CachedPredicate<Object>> {
+    @Override
+    public CachedPredicate<Object> deserialize(JsonObject json) {
+      throw new UnsupportedOperationException("Cached predicates cannot be deserialized, deserialize the wrapped predicate instead");
+    }
+
+    @Override
+    public CachedPredicate<Object> fromNetwork(FriendlyByteBuf buffer) {
+      throw new UnsupportedOperationException("Cached predicates cannot be read from the network, read the wrapped predicate instead");
+    }
+
+    /** Gets the loader for the wrapped predicate, fighting generics */
+    @SuppressWarnings("unchecked")
+    private static IGenericLoader<IJsonPredicate<Object>> innerLoader(IJsonPredicate<Object> predicate) {
+      return (IGenericLoader<IJsonPredicate<Object>>)predicate.getLoader();
+    }
+
+    @Override
+    public void serialize(CachedPredicate<Object> object, JsonObject json) {
+      innerLoader(object.predicate).serialize(object.predicate, json);
+    }
+
+    @Override
+    public void toNetwork(CachedPredicate<Object> object, FriendlyByteBuf buffer) {
+      innerLoader(object.predicate).toNetwork(object.predicate, buffer);
+    }
+  }
+}
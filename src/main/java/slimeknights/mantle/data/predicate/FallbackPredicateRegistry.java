@@ -39,15 +39,14 @@ public class FallbackPredicateRegistry<T,F> extends PredicateRegistry<T> {
     if (element.isJsonNull()) {
       return getDefault();
     }
-    // identify type key, and the object we will load from
+    // identify type key, and the object we will load from, null object means compact
     JsonObject object;
     ResourceLocation type;
     if (element.isJsonObject()) {
       object = element.getAsJsonObject();
       type = JsonHelper.getResourceLocation(object, "type");
     } else if (compact && element.isJsonPrimitive()) {
-      EMPTY_OBJECT.entrySet().clear();
-      object = EMPTY_OBJECT;
+      object = null;
       type = JsonHelper.convertToResourceLocation(element, "type");
     } else {
       throw new JsonSyntaxException("Invalid " + getName() + " JSON at " + key + ", must be a JSON object" + (compact ? " or a string" : ""));
@@ -55,6 +54,9 @@ public class FallbackPredicateRegistry<T,F> extends PredicateRegistry<T> {
     //  see if we have a primary loader, if so parse that
     IGenericLoader<? extends IJsonPredicate<T>> loader = loaders.getValue(type);
     if (loader != null) {
+      if (object == null) {
+        return deserializeCompact(loader);
+      }
       return loader.deserialize(object);
     }
     // primary loader failed, try a fallback loader
@@ -64,6 +66,7 @@ public class FallbackPredicateRegistry<T,F> extends PredicateRegistry<T> {
   @SuppressWarnings("unchecked")
   @Override
   public JsonElement serialize(IJsonPredicate<T> src) {
+    src = unwrap(src);
     // write the fallback directly to JSON instead of as a nested type
     if (src instanceof NestedPredicate<?>) {
       return this.fallback.serialize(((NestedPredicate<F>)src).predicate());
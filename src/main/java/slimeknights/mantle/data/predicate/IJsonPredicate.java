@@ -1,8 +1,11 @@
 package slimeknights.mantle.data.predicate;
 
+import net.minecraft.core.IdMap;
 import slimeknights.mantle.data.registry.GenericLoaderRegistry.IGenericLoader;
 import slimeknights.mantle.data.registry.GenericLoaderRegistry.IHaveLoader;
 
+import java.util.function.Function;
+
 /** Generic interface for predicate based JSON loaders */
 public interface IJsonPredicate<I> extends IHaveLoader {
   /** Returns true if this json predicate matches the given input */
@@ -13,4 +16,25 @@ public interface IJsonPredicate<I> extends IHaveLoader {
 
   @Override
   IGenericLoader<? extends IJsonPredicate<I>> getLoader();
+
+  /**
+   * Caches the result of this predicate by the input's registry ID, filled as inputs are matched and cleared when tags update.
+   * Only use if this predicate depends on just the input and its tags.
+   * @param registry  Registry of inputs
+   * @return  Cached predicate, serializes the same as this predicate
+   */
+  default IJsonPredicate<I> cached(IdMap<I> registry) {
+    return cached(registry, Function.identity());
+  }
+
+  /**
+   * Caches the result of this predicate by the registry ID of a key from the input, filled as inputs are matched and cleared when tags update.
+   * Only use if this predicate gives the same result for all inputs with the same key, such as entity predicates only checking the entity type.
+   * @param registry  Registry of keys
+   * @param key       Function getting the key from the input
+   * @return  Cached predicate, serializes the same as this predicate
+   */
+  default <R> IJsonPredicate<I> cached(IdMap<R> registry, Function<I,R> key) {
+    return CachedPredicate.lazy(this, registry, key);
+  }
 }
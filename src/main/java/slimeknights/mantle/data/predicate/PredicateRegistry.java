@@ -1,21 +1,25 @@
 package slimeknights.mantle.data.predicate;
 
+import com.google.gson.JsonElement;
 import lombok.RequiredArgsConstructor;
+import net.minecraft.network.FriendlyByteBuf;
 import slimeknights.mantle.Mantle;
 import slimeknights.mantle.data.loadable.Loadable;
 import slimeknights.mantle.data.loadable.record.RecordLoadable;
 import slimeknights.mantle.data.registry.DefaultingLoaderRegistry;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 
 /** Extension of generic loader registry providing default implementations for common predicates */
 public class PredicateRegistry<T> extends DefaultingLoaderRegistry<IJsonPredicate<T>> {
-  /** Loader for inverted predicates */
-  private final RecordLoadable<InvertedJsonPredicate> invertedLoader;
-  /** Loader for and predicates */
-  private final RecordLoadable<AndJsonPredicate> andLoader;
-  /** Loader for or predicates */
-  private final RecordLoadable<OrJsonPredicate> orLoader;
+  /** Loader for inverted predicates, compiles the predicate when loading */
+  private final RecordLoadable<IJsonPredicate<T>> invertedLoader;
+  /** Loader for and predicates, compiles the predicate when loading */
+  private final RecordLoadable<IJsonPredicate<T>> andLoader;
+  /** Loader for or predicates, compiles the predicate when loading */
+  private final RecordLoadable<IJsonPredicate<T>> orLoader;
 
   /**
    * Creates a new instance
@@ -26,9 +30,11 @@ public class PredicateRegistry<T> extends DefaultingLoaderRegistry<IJsonPredicat
     super(name, defaultInstance, true);
     // create common types
     Loadable<List<IJsonPredicate<T>>> list = this.list(2);
-    invertedLoader = RecordLoadable.create(directField("inverted_type", p -> p.predicate), InvertedJsonPredicate::new);
-    andLoader = RecordLoadable.create(list.requiredField("predicates", p -> p.children), AndJsonPredicate::new);
-    orLoader = RecordLoadable.create(list.requiredField("predicates", p -> p.children), OrJsonPredicate::new);
+    // loaders only serialize their own predicate type, so the casts in the getters are safe
+    // children are loaded before the parent, meaning compiling each level as its loaded compiles the whole tree
+    invertedLoader = RecordLoadable.create(directField("inverted_type", (IJsonPredicate<T> p) -> ((InvertedJsonPredicate)p).predicate), this::compileInverted);
+    andLoader = RecordLoadable.create(list.requiredField("predicates", (IJsonPredicate<T> p) -> ((AndJsonPredicate)p).children), this::compileAnd);
+    orLoader = RecordLoadable.create(list.requiredField("predicates", (IJsonPredicate<T> p) -> ((OrJsonPredicate)p).children), this::compileOr);
     // register common types
     this.register(Mantle.getResource("any"), defaultInstance.getLoader());
     this.register(Mantle.getResource("inverted"), invertedLoader);
@@ -64,6 +70,156 @@ public class PredicateRegistry<T> extends DefaultingLoaderRegistry<IJsonPredicat
   }
 
 
+  /* Serializing */
+
+  /**
+   * Unwraps a predicate that is not visible in JSON or the network, such as {@link CachedPredicate}
+   * @param predicate  Predicate to unwrap
+   * @return  Predicate to serialize
+   */
+  protected IJsonPredicate<T> unwrap(IJsonPredicate<T> predicate) {
+    while (predicate instanceof CachedPredicate<T> cached) {
+      predicate = cached.getPredicate();
+    }
+    return predicate;
+  }
+
+  @Override
+  public JsonElement serialize(IJsonPredicate<T> src) {
+    return super.serialize(unwrap(src));
+  }
+
+  @Override
+  public void encode(FriendlyByteBuf buffer, IJsonPredicate<T> src) {
+    super.encode(buffer, unwrap(src));
+  }
+
+
+  /* Compiling */
+
+  /**
+   * Checks if the given predicate was created by the given loader, and thus can be cast to that loader's predicate type.
+   * Cached predicates have their own loader, so they never match; compiling treats them as a single cheap predicate.
+   * @param predicate  Predicate to check
+   * @param loader     Loader to compare
+   * @return  True if the predicate is an instance from the loader
+   */
+  protected static boolean isFromLoader(IJsonPredicate<?> predicate, IGenericLoader<?> loader) {
+    return predicate.getLoader() == loader;
+  }
+
+  /**
+   * Compiles the given predicate tree into a simpler predicate that matches the same inputs.
+   * Predicates loaded from JSON or the network are already compiled, this is intended for trees built in code.
+   * @param predicate  Predicate to compile
+   * @return  Compiled predicate, may be the same instance
+   * @see #compileAnd(List)
+   * @see #compileOr(List)
+   * @see #compileInverted(IJsonPredicate)
+   */
+  public IJsonPredicate<T> compile(IJsonPredicate<T> predicate) {
+    if (isFromLoader(predicate, andLoader)) {
+      return compileAnd(((AndJsonPredicate)predicate).children.stream().map(this::compile).toList());
+    }
+    if (isFromLoader(predicate, orLoader)) {
+      return compileOr(((OrJsonPredicate)predicate).children.stream().map(this::compile).toList());
+    }
+    if (isFromLoader(predicate, invertedLoader)) {
+      return compileInverted(compile(((InvertedJsonPredicate)predicate).predicate));
+    }
+    return predicate;
+  }
+
+  /**
+   * Creates an and predicate from already compiled children. Nested ands are flattened, any predicates are removed,
+   * and cheaper children are moved first so failing checks return sooner.
+   * @param children  Compiled children
+   * @return  Compiled predicate
+   */
+  protected IJsonPredicate<T> compileAnd(List<IJsonPredicate<T>> children) {
+    IJsonPredicate<T> any = getDefault();
+    List<IJsonPredicate<T>> flattened = new ArrayList<>(children.size());
+    for (IJsonPredicate<T> child : children) {
+      if (isFromLoader(child, andLoader)) {
+        flattened.addAll(((AndJsonPredicate)child).children);
+      } else if (child != any) {
+        flattened.add(child);
+      }
+    }
+    if (flattened.isEmpty()) {
+      return any;
+    }
+    if (flattened.size() == 1) {
+      return flattened.get(0);
+    }
+    flattened.sort(Comparator.comparingInt(this::complexity));
+    return new AndJsonPredicate(List.copyOf(flattened));
+  }
+
+  /**
+   * Creates an or predicate from already compiled children. Nested ors are flattened, any predicates make the whole predicate any,
+   * and cheaper children are moved first so matching checks return sooner.
+   * @param children  Compiled children
+   * @return  Compiled predicate
+   */
+  protected IJsonPredicate<T> compileOr(List<IJsonPredicate<T>> children) {
+    IJsonPredicate<T> any = getDefault();
+    List<IJsonPredicate<T>> flattened = new ArrayList<>(children.size());
+    for (IJsonPredicate<T> child : children) {
+      if (child == any) {
+        return any;
+      }
+      if (isFromLoader(child, orLoader)) {
+        flattened.addAll(((OrJsonPredicate)child).children);
+      } else {
+        flattened.add(child);
+      }
+    }
+    flattened = mergeOrChildren(flattened);
+    if (flattened.size() == 1) {
+      return flattened.get(0);
+    }
+    flattened.sort(Comparator.comparingInt(this::complexity));
+    return new OrJsonPredicate(List.copyOf(flattened));
+  }
+
+  /**
+   * Hook to merge children of an or predicate that can be checked together, such as multiple sets.
+   * @param children  Flattened list of children, may be modified
+   * @return  List of children after merging, must not be empty
+   */
+  protected List<IJsonPredicate<T>> mergeOrChildren(List<IJsonPredicate<T>> children) {
+    return children;
+  }
+
+  /**
+   * Inverts an already compiled predicate, collapsing double inversions.
+   * @param predicate  Compiled predicate
+   * @return  Compiled predicate
+   */
+  protected IJsonPredicate<T> compileInverted(IJsonPredicate<T> predicate) {
+    if (isFromLoader(predicate, invertedLoader)) {
+      return ((InvertedJsonPredicate)predicate).predicate;
+    }
+    return new InvertedJsonPredicate(predicate);
+  }
+
+  /** Estimates the cost of evaluating the given predicate, based on the number of nested predicates */
+  private int complexity(IJsonPredicate<T> predicate) {
+    // cached predicates are a single lookup, so count as 1 regardless of what they wrap
+    if (isFromLoader(predicate, andLoader)) {
+      return 1 + ((AndJsonPredicate)predicate).children.stream().mapToInt(this::complexity).sum();
+    }
+    if (isFromLoader(predicate, orLoader)) {
+      return 1 + ((OrJsonPredicate)predicate).children.stream().mapToInt(this::complexity).sum();
+    }
+    if (isFromLoader(predicate, invertedLoader)) {
+      return 1 + complexity(((InvertedJsonPredicate)predicate).predicate);
+    }
+    return 1;
+  }
+
+
   /** Predicate that inverts the condition. */
   @RequiredArgsConstructor
   public class InvertedJsonPredicate implements IJsonPredicate<T> {
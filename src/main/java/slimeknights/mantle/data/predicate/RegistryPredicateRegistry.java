@@ -1,11 +1,15 @@
 package slimeknights.mantle.data.predicate;
 
+import com.google.common.collect.ImmutableSet;
 import lombok.RequiredArgsConstructor;
 import net.minecraft.tags.TagKey;
 import slimeknights.mantle.Mantle;
 import slimeknights.mantle.data.loadable.Loadable;
 import slimeknights.mantle.data.loadable.record.RecordLoadable;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.BiPredicate;
 import java.util.function.Function;
@@ -49,6 +53,39 @@ public class RegistryPredicateRegistry<R,T> extends PredicateRegistry<T> {
     return new TagPredicate(tag);
   }
 
+  @Override
+  protected List<IJsonPredicate<T>> mergeOrChildren(List<IJsonPredicate<T>> children) {
+    // combine all sets into a single set, placed where the first set was
+    int first = -1;
+    Set<R> merged = null;
+    for (int i = 0; i < children.size(); i++) {
+      IJsonPredicate<T> child = children.get(i);
+      if (isFromLoader(child, setLoader)) {
+        if (first == -1) {
+          first = i;
+        } else {
+          if (merged == null) {
+            merged = new LinkedHashSet<>(((SetPredicate)children.get(first)).set);
+          }
+          merged.addAll(((SetPredicate)child).set);
+        }
+      }
+    }
+    if (merged == null) {
+      return children;
+    }
+    List<IJsonPredicate<T>> result = new ArrayList<>(children.size());
+    for (int i = 0; i < children.size(); i++) {
+      IJsonPredicate<T> child = children.get(i);
+      if (i == first) {
+        result.add(new SetPredicate(ImmutableSet.copyOf(merged)));
+      } else if (!isFromLoader(child, setLoader)) {
+        result.add(child);
+      }
+    }
+    return result;
+  }
+
 
   /** Predicate matching an entry from a set of values */
   @RequiredArgsConstructor
@@ -6,6 +6,7 @@ import net.minecraft.world.level.block.Block;
 import net.minecraft.world.level.block.state.BlockBehaviour.BlockStateBase;
 import net.minecraft.world.level.block.state.BlockState;
 import slimeknights.mantle.data.loadable.Loadables;
+import slimeknights.mantle.data.predicate.CachedPredicate;
 import slimeknights.mantle.data.predicate.IJsonPredicate;
 import slimeknights.mantle.data.predicate.RegistryPredicateRegistry;
 import slimeknights.mantle.data.registry.GenericLoaderRegistry.IGenericLoader;
@@ -53,6 +54,14 @@ public interface BlockPredicate extends IJsonPredicate<BlockState> {
 
   /* Helper methods */
 
+  /**
+   * Precomputes the predicate for every block state after tags load, making matching a single bit lookup.
+   * Only use for predicates that depend on just the block state and tags, and that are evaluated often.
+   */
+  static IJsonPredicate<BlockState> cached(IJsonPredicate<BlockState> predicate) {
+    return CachedPredicate.dense(predicate, Block.BLOCK_STATE_REGISTRY);
+  }
+
   /** Creates a block set predicate */
   static IJsonPredicate<BlockState> set(Block... blocks) {
     return LOADER.setOf(ImmutableSet.copyOf(blocks));
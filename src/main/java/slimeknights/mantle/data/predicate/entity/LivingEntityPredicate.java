@@ -1,6 +1,7 @@
 package slimeknights.mantle.data.predicate.entity;
 
 import com.google.common.collect.ImmutableSet;
+import net.minecraft.core.Registry;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
@@ -69,6 +70,14 @@ public interface LivingEntityPredicate extends IJsonPredicate<LivingEntity> {
 
   /* Helper methods */
 
+  /**
+   * Caches the predicate result for each entity type, cleared when tags update.
+   * Only use for predicates that depend on just the entity type and its tags, such as {@link #set(EntityType[])} and {@link #tag(TagKey)}.
+   */
+  static IJsonPredicate<LivingEntity> cachedByType(IJsonPredicate<LivingEntity> predicate) {
+    return predicate.cached(Registry.ENTITY_TYPE, Entity::getType);
+  }
+
   /** Creates an entity set predicate */
   static IJsonPredicate<LivingEntity> set(EntityType<?>... types) {
     return LOADER.setOf(ImmutableSet.copyOf(types));
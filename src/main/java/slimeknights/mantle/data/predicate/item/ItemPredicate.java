@@ -1,6 +1,7 @@
 package slimeknights.mantle.data.predicate.item;
 
 import com.google.common.collect.ImmutableSet;
+import net.minecraft.core.Registry;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.item.Item;
 import slimeknights.mantle.data.loadable.Loadables;
@@ -44,6 +45,14 @@ public interface ItemPredicate extends IJsonPredicate<Item> {
 
   /* Helper methods */
 
+  /**
+   * Caches the predicate result for each item, cleared when tags update.
+   * Only use for predicates that depend on just the item and its tags, and that are evaluated often.
+   */
+  static IJsonPredicate<Item> cached(IJsonPredicate<Item> predicate) {
+    return predicate.cached(Registry.ITEM);
+  }
+
   /** Creates am item set predicate */
   static IJsonPredicate<Item> set(Item... items) {
     return LOADER.setOf(ImmutableSet.copyOf(items));
@@ -23,7 +23,11 @@ import java.util.function.Function;
  */
 @SuppressWarnings("unused")  // API
 public class GenericLoaderRegistry<T extends IHaveLoader> implements Loadable<T> {
-  /** Empty object instance for compact deserialization */
+  /**
+   * Empty object instance for compact deserialization
+   * @deprecated Mutating a shared object is not safe when loading from multiple threads, use {@link #deserializeCompact(IGenericLoader)}
+   */
+  @Deprecated
   protected static final JsonObject EMPTY_OBJECT = new JsonObject();
 
   /** Display name for this registry */
@@ -54,13 +58,26 @@ public class GenericLoaderRegistry<T extends IHaveLoader> implements Loadable<T>
     }
     // try primitive if allowed
     if (compact && element.isJsonPrimitive()) {
-      EMPTY_OBJECT.entrySet().clear();
-      return loaders.convert(element, "type").deserialize(EMPTY_OBJECT);
+      return deserializeCompact(loaders.convert(element, "type"));
     }
     // neither? failed to parse
     throw new JsonSyntaxException("Invalid " + name + " JSON at " + key + ", must be a JSON object" + (compact ? " or a string" : ""));
   }
 
+  /**
+   * Deserializes an object from a compact primitive, meaning the loader has no fields to read.
+   * Safe to call from multiple threads, and reentrant for loaders that parse nested compact values.
+   * @param loader  Loader to deserialize
+   * @return  Deserialized object
+   */
+  protected static <T> T deserializeCompact(IGenericLoader<T> loader) {
+    // singletons ignore the JSON, so no need to create an object
+    if (loader instanceof SingletonLoader<T> singleton) {
+      return singleton.getInstance();
+    }
+    return loader.deserialize(new JsonObject());
+  }
+
   /**
    * Deserializes the object from JSON
    * @param element  JSON element
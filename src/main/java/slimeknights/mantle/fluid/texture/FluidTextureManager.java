@@ -2,14 +2,21 @@ package slimeknights.mantle.fluid.texture;
 
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParseException;
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlas;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.PreparableReloadListener;
 import net.minecraft.server.packs.resources.Resource;
 import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.util.GsonHelper;
+import net.minecraft.util.profiling.ProfilerFiller;
+import net.minecraftforge.client.event.RegisterClientReloadListenersEvent;
 import net.minecraftforge.client.event.TextureStitchEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
+import net.minecraftforge.eventbus.api.IEventBus;
 import net.minecraftforge.fluids.FluidType;
 import net.minecraftforge.fml.javafmlmod.FMLJavaModLoadingContext;
 import net.minecraftforge.registries.ForgeRegistries;
@@ -20,61 +27,139 @@ import slimeknights.mantle.util.JsonHelper;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Reader;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /** Manager for handling fluid tooltips */
-public class FluidTextureManager implements Consumer<TextureStitchEvent.Pre> {
+public class FluidTextureManager implements Consumer<TextureStitchEvent.Pre>, PreparableReloadListener {
   /** Folder containing the logic */
   public static final String FOLDER = "mantle/fluid_texture";
 
   /* Instance data */
   private static final FluidTextureManager INSTANCE = new FluidTextureManager();
-  /** Map of fluid type to texture */
-  private Map<FluidType,FluidTexture> textures = Collections.emptyMap();
   /** Fallback texture instance */
   private static final FluidTexture FALLBACK = new FluidTexture(new ResourceLocation("block/water_still"), new ResourceLocation("block/water_flow"), null, null, -1);
+  /** Map of fluid type to texture, compared by identity as fluid types are registry objects */
+  private volatile Reference2ObjectMap<FluidType,FluidTexture> textures = createMap(0);
+  /** Textures being parsed for the block atlas stitch in the current resource reload, null if none are pending */
+  private final AtomicReference<CompletableFuture<Reference2ObjectMap<FluidType,FluidTexture>>> pending = new AtomicReference<>();
 
   /**
    * Initializes this manager, registering it with the resource manager
    */
   public static void init() {
-    FMLJavaModLoadingContext.get().getModEventBus().addListener(EventPriority.NORMAL, false, TextureStitchEvent.Pre.class, INSTANCE);
+    IEventBus bus = FMLJavaModLoadingContext.get().getModEventBus();
+    bus.addListener(EventPriority.NORMAL, false, TextureStitchEvent.Pre.class, INSTANCE);
+    bus.addListener(EventPriority.NORMAL, false, RegisterClientReloadListenersEvent.class, event -> event.registerReloadListener(INSTANCE));
   }
 
-  @Override
-  public void accept(TextureStitchEvent.Pre event) {
-    if (event.getAtlas().location().equals(TextureAtlas.LOCATION_BLOCKS)) {
-      long time = System.nanoTime();
-      // first, load in all fluid texture files, done in this event as otherwise we cannot guarantee it happens before the atlas stitches
-      Map<FluidType, FluidTexture> map = new HashMap<>();
+  /** Creates a new texture map with the fallback as the default value */
+  private static Reference2ObjectMap<FluidType,FluidTexture> createMap(int size) {
+    Reference2ObjectMap<FluidType,FluidTexture> map = new Reference2ObjectOpenHashMap<>(size);
+    map.defaultReturnValue(FALLBACK);
+    return map;
+  }
 
-      ResourceManager manager = Minecraft.getInstance().getResourceManager();
+  /**
+   * Parses all fluid texture files, one task per file
+   * @param manager   Resource manager
+   * @param executor  Executor for parsing
+   * @return  Future containing the map of all parsed textures
+   */
+  private static CompletableFuture<Reference2ObjectMap<FluidType,FluidTexture>> loadTextures(ResourceManager manager, Executor executor) {
+    // tasks may wait behind other reload listeners, so only count time spent listing and parsing, summed across threads
+    LongAdder nanos = new LongAdder();
+    return CompletableFuture.supplyAsync(() -> {
+      long time = System.nanoTime();
+      Map<ResourceLocation,Resource> resources = manager.listResources(FOLDER, location -> location.getPath().endsWith(".json"));
+      nanos.add(System.nanoTime() - time);
+      return resources;
+    }, executor).thenCompose(resources -> {
       IForgeRegistry<FluidType> fluidTypeRegistry = ForgeRegistries.FLUID_TYPES.get();
-      for (Map.Entry<ResourceLocation,Resource> entry : manager.listResources(FOLDER, location -> location.getPath().endsWith(".json")).entrySet()) {
-        ResourceLocation fullPath = entry.getKey();
-        String path = fullPath.getPath();
-        ResourceLocation id = JsonHelper.localize(fullPath, FOLDER, ".json");
-        try (Reader reader = entry.getValue().openAsReader()) {
-          // first step is to find the matching fluid type, if there is none ignore the file
-          FluidType type = fluidTypeRegistry.getValue(id);
-          if (type == null || !id.equals(fluidTypeRegistry.getKey(type))) {
-            Mantle.logger.debug("Ignoring fluid texture {} from {} as no fluid type exists with that name", id, fullPath);
-          } else {
-            // next step is to read in the JSON from the file
-            JsonObject json = GsonHelper.fromJson(JsonHelper.DEFAULT_GSON, reader, JsonObject.class);
-            if (json == null) {
-              Mantle.logger.warn("Couldn't load fluid texture file {} from {} as it's null or empty", id, fullPath);
-            } else {
-              // finally, parse it
-              map.put(type, FluidTexture.deserialize(json));
-            }
+      List<CompletableFuture<Pair<FluidType,FluidTexture>>> files = new ArrayList<>(resources.size());
+      for (Map.Entry<ResourceLocation,Resource> entry : resources.entrySet()) {
+        files.add(CompletableFuture.supplyAsync(() -> {
+          long time = System.nanoTime();
+          Pair<FluidType,FluidTexture> parsed = parseTexture(fluidTypeRegistry, entry.getKey(), entry.getValue());
+          nanos.add(System.nanoTime() - time);
+          return parsed;
+        }, executor));
+      }
+      return CompletableFuture.allOf(files.toArray(new CompletableFuture[0])).thenApply(v -> {
+        Reference2ObjectMap<FluidType,FluidTexture> map = createMap(files.size());
+        // merge in listing order so the result does not depend on which file finished first
+        for (CompletableFuture<Pair<FluidType,FluidTexture>> file : files) {
+          Pair<FluidType,FluidTexture> parsed = file.join();
+          if (parsed != null) {
+            map.put(parsed.getFirst(), parsed.getSecond());
           }
-        } catch (IllegalArgumentException | IOException | JsonParseException e) {
-          Mantle.logger.error("Couldn't parse fluid texture {} from {}", id, fullPath, e);
         }
+        Mantle.logger.info("Loaded {} fluid textures in {} ms", map.size(), nanos.sum() / 1000000f);
+        return map;
+      });
+    });
+  }
+
+  /**
+   * Parses a single fluid texture file
+   * @return  Fluid type and texture, or null if the file is invalid or the fluid type does not exist
+   */
+  @Nullable
+  private static Pair<FluidType,FluidTexture> parseTexture(IForgeRegistry<FluidType> fluidTypeRegistry, ResourceLocation fullPath, Resource resource) {
+    ResourceLocation id = JsonHelper.localize(fullPath, FOLDER, ".json");
+    try (Reader reader = resource.openAsReader()) {
+      // first step is to find the matching fluid type, if there is none ignore the file
+      FluidType type = fluidTypeRegistry.getValue(id);
+      if (type == null || !id.equals(fluidTypeRegistry.getKey(type))) {
+        Mantle.logger.debug("Ignoring fluid texture {} from {} as no fluid type exists with that name", id, fullPath);
+      } else {
+        // next step is to read in the JSON from the file
+        JsonObject json = GsonHelper.fromJson(JsonHelper.DEFAULT_GSON, reader, JsonObject.class);
+        if (json == null) {
+          Mantle.logger.warn("Couldn't load fluid texture file {} from {} as it's null or empty", id, fullPath);
+        } else {
+          // finally, parse it
+          return Pair.of(type, FluidTexture.deserialize(json));
+        }
+      }
+    } catch (IllegalArgumentException | IOException | JsonParseException e) {
+      Mantle.logger.error("Couldn't parse fluid texture {} from {}", id, fullPath, e);
+    }
+    return null;
+  }
+
+  @Override
+  public CompletableFuture<Void> reload(PreparationBarrier barrier, ResourceManager manager, ProfilerFiller prepProfiler, ProfilerFiller reloadProfiler, Executor backgroundExecutor, Executor gameExecutor) {
+    // start parsing as soon as the reload starts, the block atlas stitch waits on the result
+    CompletableFuture<Reference2ObjectMap<FluidType,FluidTexture>> textures = loadTextures(manager, backgroundExecutor);
+    this.pending.set(textures);
+    // atlases stitch before the barrier, so if the result is still pending the stitch started before this listener and parsed on its own
+    // clear it so a later stitch does not use textures from this reload
+    return barrier.wait(null).thenRunAsync(() -> this.pending.compareAndSet(textures, null), gameExecutor);
+  }
+
+  @Override
+  public void accept(TextureStitchEvent.Pre event) {
+    if (event.getAtlas().location().equals(TextureAtlas.LOCATION_BLOCKS)) {
+      // textures must be loaded before this event finishes, otherwise we cannot guarantee they are on the atlas
+      CompletableFuture<Reference2ObjectMap<FluidType,FluidTexture>> pending = this.pending.getAndSet(null);
+      if (pending == null) {
+        // stitch without a resource reload, so parse the files right now
+        pending = loadTextures(Minecraft.getInstance().getResourceManager(), Runnable::run);
+      }
+      Reference2ObjectMap<FluidType,FluidTexture> map;
+      try {
+        map = pending.join();
+      } catch (CompletionException e) {
+        Mantle.logger.error("Failed to load fluid textures", e);
+        map = createMap(0);
       }
       this.textures = map;
 
@@ -88,13 +173,12 @@ public class FluidTextureManager implements Consumer<TextureStitchEvent.Pre> {
         }
         // no registering camera as its not stitched, its just drawn directly
       }
-      Mantle.logger.info("Loaded {} fluid textures in {} ms", map.size(), (System.nanoTime() - time) / 1000000f);
     }
   }
 
   /** Gets the texture for the given fluid */
   public static FluidTexture getData(FluidType fluid) {
-    return INSTANCE.textures.getOrDefault(fluid, FALLBACK);
+    return INSTANCE.textures.get(fluid);
   }
 
   /** Gets the still texture for the given fluid */
@@ -75,8 +75,9 @@ public class FluidTooltipHandler extends SimpleJsonResourceReloadListener {
   private FluidUnitList fallback = DEFAULT_LIST;
   /** List of tooltip options */
   private Map<ResourceLocation,FluidUnitList> unitLists = Collections.emptyMap();
-  /** Cache of fluid to entry */
-  private final Map<Fluid,FluidUnitList> listCache = new HashMap<>();
+  /** Table of unit lists indexed by fluid registry ID, null when it needs to be rebuilt */
+  @Nullable
+  private volatile FluidUnitList[] listTable = null;
 
   /**
    * Initializes this manager, registering it with the resource manager
@@ -84,8 +85,8 @@ public class FluidTooltipHandler extends SimpleJsonResourceReloadListener {
    */
   public static void init(RegisterClientReloadListenersEvent manager) {
     manager.registerReloadListener(INSTANCE);
-    // clear the cache on tag reload, if the tags changed it might be wrong
-    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, event -> INSTANCE.listCache.clear());
+    // rebuild the table on tag reload, if the tags changed it might be wrong
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, event -> INSTANCE.listTable = INSTANCE.buildTable());
   }
 
   private FluidTooltipHandler() {
@@ -144,23 +145,50 @@ public class FluidTooltipHandler extends SimpleJsonResourceReloadListener {
     // find the fallback
     unitLists = builder.build();
     fallback = this.unitLists.getOrDefault(DEFAULT_ID, DEFAULT_LIST);
-    listCache.clear();
+    // tags may not be available yet, so build the table on first use
+    listTable = null;
     log.info("Loaded {} fluid unit lists in {} ms", unitLists.size(), (System.nanoTime() - time) / 1000000f);
   }
 
+  /** Builds the table of unit lists for every registered fluid */
+  private FluidUnitList[] buildTable() {
+    long time = System.nanoTime();
+    FluidUnitList[] table = new FluidUnitList[Registry.FLUID.size()];
+    // first list to match a fluid wins, same as checking each list in order
+    for (FluidUnitList list : unitLists.values()) {
+      list.forEachMatch(fluid -> {
+        int id = Registry.FLUID.getId(fluid);
+        if (id >= 0 && id < table.length && table[id] == null) {
+          table[id] = list;
+        }
+      });
+    }
+    for (int i = 0; i < table.length; i++) {
+      if (table[i] == null) {
+        table[i] = fallback;
+      }
+    }
+    log.debug("Built fluid unit list table for {} fluids in {} ms", table.length, (System.nanoTime() - time) / 1000000f);
+    return table;
+  }
+
   /** Gets the unit list for the given fluid */
   private FluidUnitList getUnitList(Fluid fluid) {
-    FluidUnitList cached = listCache.get(fluid);
-    if (cached != null) {
-      return cached;
+    FluidUnitList[] table = listTable;
+    if (table == null) {
+      table = buildTable();
+      listTable = table;
+    }
+    int id = Registry.FLUID.getId(fluid);
+    if (id >= 0 && id < table.length) {
+      return table[id];
     }
+    // fluid is not in the registry, should not happen but scan the lists to be safe
     for (FluidUnitList list : unitLists.values()) {
       if (list.matches(fluid)) {
-        listCache.put(fluid, list);
         return list;
       }
     }
-    listCache.put(fluid, fallback);
     return fallback;
   }
 
@@ -231,10 +259,10 @@ public class FluidTooltipHandler extends SimpleJsonResourceReloadListener {
   public static boolean appendMaterialNoShift(Fluid fluid, int original, List<Component> tooltip) {
     // if holding shift, skip specific units
     if (SafeClientAccess.getTooltipKey() != TooltipKey.SHIFT) {
-      int amount = original;
-      amount = INSTANCE.getUnitList(fluid).getText(tooltip, amount);
+      FluidUnitList list = INSTANCE.getUnitList(fluid);
+      int amount = list.getText(tooltip, original);
       MILLIBUCKET.getText(tooltip, amount);
-      return INSTANCE.listCache.get(fluid) != INSTANCE.fallback;
+      return list != INSTANCE.fallback;
     } else {
       // standard display stuff: bucket amounts
       appendBuckets(original, tooltip);
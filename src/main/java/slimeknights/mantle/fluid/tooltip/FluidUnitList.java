@@ -1,6 +1,8 @@
 package slimeknights.mantle.fluid.tooltip;
 
 import lombok.RequiredArgsConstructor;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
 import net.minecraft.network.chat.Component;
 import net.minecraft.tags.TagKey;
 import net.minecraft.world.level.material.Fluid;
@@ -8,6 +10,7 @@ import slimeknights.mantle.util.RegistryHelper;
 
 import javax.annotation.Nullable;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents a list of tooltip unit types for a fluid
@@ -27,6 +30,17 @@ public class FluidUnitList {
     return this.tag != null && RegistryHelper.contains(this.tag, fluid);
   }
 
+  /**
+   * Runs the consumer for every fluid matched by this list
+   */
+  void forEachMatch(Consumer<Fluid> consumer) {
+    if (this.tag != null) {
+      for (Holder<Fluid> holder : Registry.FLUID.getTagOrEmpty(this.tag)) {
+        consumer.accept(holder.value());
+      }
+    }
+  }
+
   /**
    * Applies the text of all child units
    */
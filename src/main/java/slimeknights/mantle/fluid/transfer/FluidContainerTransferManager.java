@@ -20,14 +20,18 @@ import net.minecraftforge.common.crafting.CraftingHelper;
 import net.minecraftforge.common.crafting.conditions.ICondition.IContext;
 import net.minecraftforge.event.AddReloadListenerEvent;
 import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.event.TagsUpdatedEvent;
 import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.fluids.FluidStack;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.data.gson.GenericRegisteredSerializer;
-import slimeknights.mantle.network.MantleNetwork;
-import slimeknights.mantle.util.JsonHelper;
+import slimeknights.mantle.network.HashedDatapackSync;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -48,6 +52,8 @@ public class FluidContainerTransferManager extends SimpleJsonResourceReloadListe
     .setPrettyPrinting()
     .disableHtmlEscaping()
     .create();
+  /** Channel for syncing container items to the client */
+  private static final ResourceLocation SYNC_CHANNEL = Mantle.getResource("fluid_container_transfer");
   /** Singleton instance of the manager */
   public static final FluidContainerTransferManager INSTANCE = new FluidContainerTransferManager();
 
@@ -58,6 +64,10 @@ public class FluidContainerTransferManager extends SimpleJsonResourceReloadListe
   @Setter @Nullable
   private Set<Item> containerItems = Collections.emptySet();
 
+  /** Index of transfers by item, lazily built as ingredients need tags. Only exists serverside */
+  @Nullable
+  private volatile TransferIndex index = null;
+
   /** Condition context for tags */
   private IContext context = IContext.EMPTY;
 
@@ -78,13 +88,45 @@ public class FluidContainerTransferManager extends SimpleJsonResourceReloadListe
     return this.containerItems;
   }
 
+  /** Lazily initializes the index of transfers by item */
+  private TransferIndex getIndex() {
+    TransferIndex index = this.index;
+    if (index == null) {
+      // transfers listing no items are kept in every list in their original position, so the first match is the same as a full scan
+      List<IFluidContainerTransfer> fallback = new ArrayList<>();
+      Map<Item,List<IFluidContainerTransfer>> byItem = new HashMap<>();
+      Set<Item> items = new HashSet<>();
+      Consumer<Item> consumer = items::add;
+      for (IFluidContainerTransfer transfer : transfers) {
+        items.clear();
+        transfer.addRepresentativeItems(consumer);
+        if (items.isEmpty()) {
+          fallback.add(transfer);
+          for (List<IFluidContainerTransfer> list : byItem.values()) {
+            list.add(transfer);
+          }
+        } else {
+          for (Item item : items) {
+            byItem.computeIfAbsent(item, i -> new ArrayList<>(fallback)).add(transfer);
+          }
+        }
+      }
+      index = new TransferIndex(byItem, List.copyOf(fallback));
+      this.index = index;
+    }
+    return index;
+  }
+
   /** For internal use only */
   public void init() {
     MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, AddReloadListenerEvent.class, e -> {
       e.addListener(this);
       this.context = e.getConditionContext();
     });
-    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, OnDatapackSyncEvent.class, e -> JsonHelper.syncPackets(e, MantleNetwork.INSTANCE, new FluidContainerTransferPacket(this.getContainerItems())));
+    HashedDatapackSync.registerChannel(SYNC_CHANNEL, FluidContainerTransferPacket::new);
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, OnDatapackSyncEvent.class, e -> HashedDatapackSync.sync(e, SYNC_CHANNEL, new FluidContainerTransferPacket(this.getContainerItems())));
+    // ingredients may match different items after tags change
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, e -> this.index = null);
   }
 
   /** Loads transfer from JSON */
@@ -108,6 +150,7 @@ public class FluidContainerTransferManager extends SimpleJsonResourceReloadListe
                                .filter(Objects::nonNull)
                                .toList();
     this.containerItems = null;
+    this.index = null;
     log.info("Loaded {} dynamic modifiers in {} ms", transfers.size(), (System.nanoTime() - time) / 1000000f);
   }
 
@@ -123,11 +166,19 @@ public class FluidContainerTransferManager extends SimpleJsonResourceReloadListe
   /** Gets the transfer for the given item and fluid, or null if its not a valid item and fluid */
   @Nullable
   public IFluidContainerTransfer getTransfer(ItemStack stack, FluidStack fluid) {
-    for (IFluidContainerTransfer transfer : transfers) {
+    TransferIndex index = getIndex();
+    for (IFluidContainerTransfer transfer : index.byItem.getOrDefault(stack.getItem(), index.fallback)) {
       if (transfer.matches(stack, fluid)) {
         return transfer;
       }
     }
     return null;
   }
+
+  /**
+   * Transfers that may match each item
+   * @param byItem    Transfers for each item in their original order, including fallback transfers
+   * @param fallback  Transfers that did not list any items, used for items not in the map
+   */
+  private record TransferIndex(Map<Item,List<IFluidContainerTransfer>> byItem, List<IFluidContainerTransfer> fallback) {}
 }
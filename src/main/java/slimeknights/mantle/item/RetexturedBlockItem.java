@@ -1,5 +1,6 @@
 package slimeknights.mantle.item;
 
+import lombok.Getter;
 import net.minecraft.core.Holder;
 import net.minecraft.core.NonNullList;
 import net.minecraft.core.Registry;
@@ -30,6 +31,7 @@ import java.util.List;
 public class RetexturedBlockItem extends BlockTooltipItem {
 
   /** Tag used for getting the texture */
+  @Getter
   protected final TagKey<Item> textureTag;
   public RetexturedBlockItem(Block block, TagKey<Item> textureTag, Properties builder) {
     super(block, builder);
@@ -18,12 +18,15 @@ import slimeknights.mantle.data.listener.IEarlyReloadListener;
 import slimeknights.mantle.loot.LootTableInjection.LootPoolInjection;
 import slimeknights.mantle.util.JsonHelper;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 import java.io.Reader;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.TreeMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -43,42 +46,89 @@ public enum LootTableInjector implements IEarlyReloadListener {
     MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, LootTableLoadEvent.class, INSTANCE::lootTableLoad);
   }
 
+  /**
+   * Enables parsing injection files in parallel on the common fork join pool. Merging still happens in resource order on the reload thread.
+   * Conditions, loot conditions, and loot functions in injections are deserialized on worker threads, so only enable this if every serializer
+   * that may be used in an injection is thread safe.
+   */
+  public static void enableParallelParsing() {
+    INSTANCE.parallel = true;
+  }
+
   /** Condition context for preventing load */
   private IContext context = IContext.EMPTY;
+  /** If true, injection files are parsed in parallel, see {@link #enableParallelParsing()} */
+  private volatile boolean parallel = false;
   /** Map of injections to use on loot table load */
   private Map<ResourceLocation,LootTableInjection> injections = Collections.emptyMap();
 
+  /**
+   * Parses a single injection file
+   * @param key       File location
+   * @param resource  Resource to read
+   * @return  Parsed injection, containing null if the file failed to load or its conditions failed
+   */
+  private ParsedInjection parseInjection(ResourceLocation key, Resource resource) {
+    long time = System.nanoTime();
+    LootTableInjection injection = null;
+    try (Reader reader = resource.openAsReader()) {
+      JsonObject json = GsonHelper.fromJson(JsonHelper.DEFAULT_GSON, reader, JsonObject.class);
+      if (json != null) {
+        // skip if empty for easy removals, conditions are checked before parsing the rest of the file
+        if (!json.keySet().isEmpty() && CraftingHelper.processConditions(json, "conditions", context)) {
+          injection = LootTableInjection.LOADABLE.deserialize(json);
+        }
+      } else {
+        Mantle.logger.error("Couldn't parse loot table injection from {} as it's null or empty", key);
+      }
+    } catch (IllegalArgumentException | IOException | JsonParseException ex) {
+      Mantle.logger.error("Couldn't parse loot injection from {}", key, ex);
+    }
+    return new ParsedInjection(key, injection, System.nanoTime() - time);
+  }
+
   @Override
   public void onResourceManagerReload(ResourceManager manager) {
     long time = System.nanoTime();
+    List<Entry<ResourceLocation,Resource>> files = List.copyOf(manager.listResources(FOLDER, loc -> loc.getPath().endsWith(".json")).entrySet());
+    // parallel stream keeps encounter order, so merging is deterministic either way
+    List<ParsedInjection> parsed = (parallel ? files.parallelStream() : files.stream())
+      .map(entry -> parseInjection(entry.getKey(), entry.getValue()))
+      .toList();
     Map<ResourceLocation,LootTableInjection.Builder> builders = new HashMap<>();
+    // per namespace stats are only logged at debug
+    boolean debug = Mantle.logger.isDebugEnabled();
+    Map<String,NamespaceStats> namespaces = new TreeMap<>();
     int loaded = 0;
-    for (Entry<ResourceLocation,Resource> entry : manager.listResources(FOLDER, loc -> loc.getPath().endsWith(".json")).entrySet()) {
-      try (Reader reader = entry.getValue().openAsReader()) {
-        JsonObject json = GsonHelper.fromJson(JsonHelper.DEFAULT_GSON, reader, JsonObject.class);
-        if (json != null) {
-          // skip if empty for easy removals
-          if (!json.keySet().isEmpty() && CraftingHelper.processConditions(json, "conditions", context)) {
-            // the builder allows us to merge from multiple sources, for efficiency
-            // ensures a given table name and pool name both show just once
-            LootTableInjection injection = LootTableInjection.LOADABLE.deserialize(json);
-            LootTableInjection.Builder builder = builders.computeIfAbsent(injection.name(), id -> new LootTableInjection.Builder());
-            for (LootPoolInjection pool : injection.pools()) {
-              builder.addToPool(pool);
-            }
-            loaded++;
-          }
-        } else {
-          Mantle.logger.error("Couldn't parse loot table injection from {} as it's null or empty", entry.getKey());
+    for (ParsedInjection result : parsed) {
+      NamespaceStats stats = null;
+      if (debug) {
+        stats = namespaces.computeIfAbsent(result.file.getNamespace(), n -> new NamespaceStats());
+        stats.files++;
+        stats.nanos += result.nanos;
+      }
+      LootTableInjection injection = result.injection;
+      if (injection != null) {
+        // the builder allows us to merge from multiple sources, for efficiency
+        // ensures a given table name and pool name both show just once
+        LootTableInjection.Builder builder = builders.computeIfAbsent(injection.name(), id -> new LootTableInjection.Builder());
+        for (LootPoolInjection pool : injection.pools()) {
+          builder.addToPool(pool);
         }
-      } catch (IllegalArgumentException | IOException | JsonParseException ex) {
-        Mantle.logger.error("Couldn't parse loot injection from {}", entry.getKey(), ex);
+        if (stats != null) {
+          stats.loaded++;
+        }
+        loaded++;
       }
     }
     // build final map
     injections = builders.entrySet().stream().map(entry -> entry.getValue().build(entry.getKey()))
                          .collect(Collectors.toUnmodifiableMap(LootTableInjection::name, Function.identity()));
     // log timer
+    for (Entry<String,NamespaceStats> entry : namespaces.entrySet()) {
+      NamespaceStats stats = entry.getValue();
+      Mantle.logger.debug("Loaded {} of {} loot table injectors from {} in {} ms", stats.loaded, stats.files, entry.getKey(), stats.nanos / 1000000f);
+    }
     Mantle.logger.info("Loaded {} loot table injectors injecting into {} tables in {} ms", loaded, injections.size(), (System.nanoTime() - time) / 1000000f);
   }
 
@@ -93,4 +143,19 @@ public enum LootTableInjector implements IEarlyReloadListener {
       }
     }
   }
+
+  /**
+   * Result of parsing a single injection file
+   * @param file       File location
+   * @param injection  Parsed injection, null if it failed to parse or its conditions failed
+   * @param nanos      Time spent parsing the file
+   */
+  private record ParsedInjection(ResourceLocation file, @Nullable LootTableInjection injection, long nanos) {}
+
+  /** Counters for a single namespace, only used for logging */
+  private static class NamespaceStats {
+    private int files = 0;
+    private int loaded = 0;
+    private long nanos = 0;
+  }
 }
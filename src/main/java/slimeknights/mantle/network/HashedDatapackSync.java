@@ -0,0 +1,153 @@
+package slimeknights.mantle.network;
+
+import com.google.common.hash.Hashing;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.event.OnDatapackSyncEvent;
+import net.minecraftforge.network.NetworkEvent;
+import slimeknights.mantle.Mantle;
+import slimeknights.mantle.network.packet.ISimplePacket;
+import slimeknights.mantle.network.packet.SyncHashPacket;
+import slimeknights.mantle.network.packet.SyncPayloadPacket;
+import slimeknights.mantle.network.packet.SyncRequestPacket;
+
+import javax.annotation.Nullable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Syncs datapack contents to clients by hash. The server sends a hash of the payload, and the client only requests the full payload if it does not have a payload with that hash.
+ * Avoids resending unchanged data to every player on each {@code /reload}.
+ */
+public class HashedDatapackSync {
+  /** Decoders for each channel's payload */
+  private static final Map<ResourceLocation,Function<FriendlyByteBuf,? extends ISimplePacket>> DECODERS = new ConcurrentHashMap<>();
+  /** Last payload synced by the server for each channel */
+  private static final Map<ResourceLocation,Payload> SERVER_PAYLOADS = new ConcurrentHashMap<>();
+  /** Last payload received by the client for each channel */
+  private static final Map<ResourceLocation,Payload> CLIENT_PAYLOADS = new ConcurrentHashMap<>();
+
+  private HashedDatapackSync() {}
+
+  /**
+   * Registers a channel to sync
+   * @param channel  Channel name
+   * @param decoder  Decoder for the payload packet
+   */
+  public static void registerChannel(ResourceLocation channel, Function<FriendlyByteBuf,? extends ISimplePacket> decoder) {
+    if (DECODERS.putIfAbsent(channel, decoder) != null) {
+      throw new IllegalArgumentException("Duplicate sync channel " + channel);
+    }
+  }
+
+  /**
+   * Syncs the packet to the players in the event, sending just its hash
+   * @param event    Datapack sync event
+   * @param channel  Channel name, must be registered
+   * @param packet   Packet to sync
+   */
+  public static void sync(OnDatapackSyncEvent event, ResourceLocation channel, ISimplePacket packet) {
+    if (!DECODERS.containsKey(channel)) {
+      throw new IllegalArgumentException("Unregistered sync channel " + channel);
+    }
+    Payload payload = Payload.of(packet);
+    SERVER_PAYLOADS.put(channel, payload);
+    SyncHashPacket hashPacket = new SyncHashPacket(channel, payload.hash);
+    ServerPlayer targetedPlayer = event.getPlayer();
+    if (targetedPlayer != null) {
+      sendHash(targetedPlayer, hashPacket);
+    } else {
+      for (ServerPlayer player : event.getPlayerList().getPlayers()) {
+        sendHash(player, hashPacket);
+      }
+    }
+  }
+
+  /** Sends the hash to the given player, skipping integrated server players as they share the data */
+  private static void sendHash(ServerPlayer player, SyncHashPacket packet) {
+    if (!player.connection.getConnection().isMemoryConnection()) {
+      MantleNetwork.INSTANCE.sendTo(packet, player);
+    }
+  }
+
+  /** Clears all payloads received by the client, called on logout */
+  public static void clearClientPayloads() {
+    CLIENT_PAYLOADS.clear();
+  }
+
+
+  /* Packet handling */
+
+  /**
+   * Handles a hash received on the client, applying the cached payload if it matches or requesting the payload otherwise
+   * @param channel  Channel name
+   * @param hash     Payload hash
+   * @param context  Packet context
+   */
+  public static void handleHash(ResourceLocation channel, byte[] hash, Supplier<NetworkEvent.Context> context) {
+    Payload cached = CLIENT_PAYLOADS.get(channel);
+    if (cached != null && Arrays.equals(cached.hash, hash)) {
+      apply(channel, cached, context);
+    } else {
+      MantleNetwork.INSTANCE.sendToServer(new SyncRequestPacket(channel));
+    }
+  }
+
+  /**
+   * Handles a payload request on the server
+   * @param channel  Channel name
+   * @param player   Player requesting
+   */
+  public static void handleRequest(ResourceLocation channel, @Nullable ServerPlayer player) {
+    Payload payload = SERVER_PAYLOADS.get(channel);
+    if (player != null && payload != null) {
+      MantleNetwork.INSTANCE.sendTo(new SyncPayloadPacket(channel, payload.bytes), player);
+    }
+  }
+
+  /**
+   * Handles a full payload received on the client
+   * @param channel  Channel name
+   * @param bytes    Payload contents
+   * @param context  Packet context
+   */
+  public static void handlePayload(ResourceLocation channel, byte[] bytes, Supplier<NetworkEvent.Context> context) {
+    Payload payload = new Payload(bytes, hash(bytes));
+    CLIENT_PAYLOADS.put(channel, payload);
+    apply(channel, payload, context);
+  }
+
+  /** Decodes and handles the payload */
+  private static void apply(ResourceLocation channel, Payload payload, Supplier<NetworkEvent.Context> context) {
+    Function<FriendlyByteBuf,? extends ISimplePacket> decoder = DECODERS.get(channel);
+    if (decoder == null) {
+      Mantle.logger.error("Received payload for unknown sync channel {}", channel);
+      return;
+    }
+    FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.wrappedBuffer(payload.bytes));
+    decoder.apply(buffer).handle(context);
+  }
+
+  /** Hashes the given payload */
+  private static byte[] hash(byte[] bytes) {
+    return Hashing.murmur3_128().hashBytes(bytes).asBytes();
+  }
+
+  /** Encoded packet along with its hash */
+  private record Payload(byte[] bytes, byte[] hash) {
+    /** Encodes the given packet */
+    private static Payload of(ISimplePacket packet) {
+      FriendlyByteBuf buffer = new FriendlyByteBuf(Unpooled.buffer());
+      packet.encode(buffer);
+      byte[] bytes = new byte[buffer.readableBytes()];
+      buffer.readBytes(bytes);
+      buffer.release();
+      return new Payload(bytes, hash(bytes));
+    }
+  }
+}
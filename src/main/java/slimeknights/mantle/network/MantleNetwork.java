@@ -5,15 +5,21 @@ import slimeknights.mantle.Mantle;
 import slimeknights.mantle.fluid.transfer.FluidContainerTransferPacket;
 import slimeknights.mantle.network.packet.ClearBookCachePacket;
 import slimeknights.mantle.network.packet.DropLecternBookPacket;
+import slimeknights.mantle.network.packet.InventorySlotsPacket;
 import slimeknights.mantle.network.packet.OpenLecternBookPacket;
 import slimeknights.mantle.network.packet.OpenNamedBookPacket;
 import slimeknights.mantle.network.packet.SwingArmPacket;
+import slimeknights.mantle.network.packet.SyncHashPacket;
+import slimeknights.mantle.network.packet.SyncPayloadPacket;
+import slimeknights.mantle.network.packet.SyncRequestPacket;
 import slimeknights.mantle.network.packet.UpdateHeldPagePacket;
 import slimeknights.mantle.network.packet.UpdateLecternPagePacket;
 
 public class MantleNetwork {
+  /** Protocol version, bump when adding or changing packets */
+  private static final String PROTOCOL_VERSION = "2";
   /** Network instance */
-  public static final NetworkWrapper INSTANCE = new NetworkWrapper(Mantle.getResource("network"));
+  public static final NetworkWrapper INSTANCE = new NetworkWrapper(Mantle.getResource("network"), PROTOCOL_VERSION);
 
   /**
    * Registers packets into this network
@@ -27,5 +33,9 @@ public class MantleNetwork {
     INSTANCE.registerPacket(OpenNamedBookPacket.class, OpenNamedBookPacket::new, NetworkDirection.PLAY_TO_CLIENT);
     INSTANCE.registerPacket(FluidContainerTransferPacket.class, FluidContainerTransferPacket::new, NetworkDirection.PLAY_TO_CLIENT);
     INSTANCE.registerPacket(ClearBookCachePacket.class, ClearBookCachePacket::new, NetworkDirection.PLAY_TO_CLIENT);
+    INSTANCE.registerPacket(SyncHashPacket.class, SyncHashPacket::new, NetworkDirection.PLAY_TO_CLIENT);
+    INSTANCE.registerPacket(SyncRequestPacket.class, SyncRequestPacket::new, NetworkDirection.PLAY_TO_SERVER);
+    INSTANCE.registerPacket(SyncPayloadPacket.class, SyncPayloadPacket::new, NetworkDirection.PLAY_TO_CLIENT);
+    INSTANCE.registerPacket(InventorySlotsPacket.class, InventorySlotsPacket::new, NetworkDirection.PLAY_TO_CLIENT);
   }
 }
@@ -1,5 +1,6 @@
 package slimeknights.mantle.network;
 
+import io.netty.buffer.Unpooled;
 import net.minecraft.core.BlockPos;
 import net.minecraft.network.FriendlyByteBuf;
 import net.minecraft.network.protocol.Packet;
@@ -8,8 +9,13 @@ import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.ChunkPos;
 import net.minecraft.world.level.chunk.LevelChunk;
+import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.common.util.FakePlayer;
+import net.minecraftforge.event.TickEvent.Phase;
+import net.minecraftforge.event.TickEvent.ServerTickEvent;
+import net.minecraftforge.eventbus.api.EventPriority;
 import net.minecraftforge.network.NetworkDirection;
 import net.minecraftforge.network.NetworkEvent;
 import net.minecraftforge.network.NetworkRegistry;
@@ -18,6 +24,12 @@ import net.minecraftforge.network.simple.SimpleChannel;
 import slimeknights.mantle.network.packet.ISimplePacket;
 
 import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -33,17 +45,37 @@ public class NetworkWrapper {
   public final SimpleChannel network;
   private int id = 0;
   private static final String PROTOCOL_VERSION = Integer.toString(1);
+  /** Default limit on the size of a batch in bytes, leaving plenty of room under the 1 MiB limit on server to client custom payloads */
+  public static final int DEFAULT_MAX_BATCH_SIZE = 0x80000;
+  /** Codecs for all registered packets, used to write packets into batches */
+  private final List<PacketCodec<?>> codecs = new ArrayList<>();
+  /** Map from packet class to codec */
+  private final Map<Class<?>,PacketCodec<?>> codecsByClass = new HashMap<>();
+  /** Packets waiting to be sent to each player at the end of the tick, null if batching is disabled */
+  @Nullable
+  private Map<ServerPlayer,List<Object>> queued = null;
+  /** Maximum size of the packets in a single batch in bytes */
+  private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
 
   /**
    * Creates a new network wrapper
    * @param channelName  Unique packet channel name
    */
   public NetworkWrapper(ResourceLocation channelName) {
+    this(channelName, PROTOCOL_VERSION);
+  }
+
+  /**
+   * Creates a new network wrapper
+   * @param channelName      Unique packet channel name
+   * @param protocolVersion  Channel protocol version, change whenever packets are added or changed so mismatched clients are rejected on login
+   */
+  public NetworkWrapper(ResourceLocation channelName, String protocolVersion) {
     this.network = NetworkRegistry.ChannelBuilder
       .named(channelName)
-      .clientAcceptedVersions(PROTOCOL_VERSION::equals)
-      .serverAcceptedVersions(PROTOCOL_VERSION::equals)
-      .networkProtocolVersion(() -> PROTOCOL_VERSION)
+      .clientAcceptedVersions(protocolVersion::equals)
+      .serverAcceptedVersions(protocolVersion::equals)
+      .networkProtocolVersion(() -> protocolVersion)
       .simpleChannel();
   }
 
@@ -68,6 +100,43 @@ public class NetworkWrapper {
    */
   public <MSG> void registerPacket(Class<MSG> clazz, BiConsumer<MSG, FriendlyByteBuf> encoder, Function<FriendlyByteBuf, MSG> decoder, BiConsumer<MSG,Supplier<NetworkEvent.Context>> consumer, @Nullable NetworkDirection direction) {
     this.network.registerMessage(this.id++, clazz, encoder, decoder, consumer, Optional.ofNullable(direction));
+    PacketCodec<MSG> codec = new PacketCodec<>(codecs.size(), encoder, decoder, consumer);
+    codecs.add(codec);
+    codecsByClass.put(clazz, codec);
+  }
+
+  /**
+   * Enables batching on this network. When enabled, packets sent to a player or to players around a position are queued and sent in a single packet at the end of the server tick.
+   * Registers a packet, so must be called at the same point in packet registration on both sides.
+   * Packets returning false from {@link ISimplePacket#canBatch()} skip the queue, after sending any packets queued for the same player.
+   * Packets sent to a {@link PacketDistributor.PacketTarget} or to entity trackers skip the queue, after sending all queued packets as the receiving players are not known.
+   */
+  public void enableBatching() {
+    enableBatching(DEFAULT_MAX_BATCH_SIZE);
+  }
+
+  /**
+   * Enables batching on this network with the given batch size limit.
+   * Queued packets are split into several batches when they would exceed the limit, and any packet larger than the limit is sent on its own.
+   * @param maxBatchSize  Maximum size of the packets in a batch in bytes, must stay well under the 1 MiB custom payload limit
+   * @see #enableBatching()
+   */
+  public void enableBatching(int maxBatchSize) {
+    if (queued != null) {
+      throw new IllegalStateException("Batching is already enabled");
+    }
+    // vanilla rejects server to client custom payloads of 1 MiB or more
+    if (maxBatchSize <= 0 || maxBatchSize >= 0x100000) {
+      throw new IllegalArgumentException("Invalid max batch size " + maxBatchSize);
+    }
+    this.maxBatchSize = maxBatchSize;
+    queued = new LinkedHashMap<>();
+    registerPacket(BatchPacket.class, this::encodeBatch, this::decodeBatch, this::handleBatch, NetworkDirection.PLAY_TO_CLIENT);
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, ServerTickEvent.class, event -> {
+      if (event.phase == Phase.END) {
+        flush();
+      }
+    });
   }
 
 
@@ -87,6 +156,8 @@ public class NetworkWrapper {
    * @param message  Packet to send
    */
   public void send(PacketDistributor.PacketTarget target, Object message) {
+    // keep packet order, the target may include any player with queued packets
+    flush();
     network.send(target, message);
   }
 
@@ -97,6 +168,7 @@ public class NetworkWrapper {
    */
   public void sendVanillaPacket(Packet<?> packet, Entity player) {
     if (player instanceof ServerPlayer sPlayer) {
+      flush(sPlayer);
       sPlayer.connection.send(packet);
     }
   }
@@ -119,7 +191,15 @@ public class NetworkWrapper {
    */
   public void sendTo(Object msg, ServerPlayer player) {
     if (!(player instanceof FakePlayer)) {
-      network.sendTo(msg, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+      if (queued != null && canBatch(msg)) {
+        synchronized (queued) {
+          queued.computeIfAbsent(player, p -> new ArrayList<>()).add(msg);
+        }
+      } else {
+        // keep packet order, anything queued for this player goes first
+        flush(player);
+        network.sendTo(msg, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+      }
     }
   }
 
@@ -130,8 +210,14 @@ public class NetworkWrapper {
    * @param position     Position within range
    */
   public void sendToClientsAround(Object msg, ServerLevel serverWorld, BlockPos position) {
-    LevelChunk chunk = serverWorld.getChunkAt(position);
-    network.send(PacketDistributor.TRACKING_CHUNK.with(() -> chunk), msg);
+    if (queued != null) {
+      for (ServerPlayer player : serverWorld.getChunkSource().chunkMap.getPlayers(new ChunkPos(position), false)) {
+        sendTo(msg, player);
+      }
+    } else {
+      LevelChunk chunk = serverWorld.getChunkAt(position);
+      send(PacketDistributor.TRACKING_CHUNK.with(() -> chunk), msg);
+    }
   }
 
   /**
@@ -140,7 +226,7 @@ public class NetworkWrapper {
    * @param entity  Entity to check
    */
   public void sendToTrackingAndSelf(Object msg, Entity entity) {
-    this.network.send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> entity), msg);
+    send(PacketDistributor.TRACKING_ENTITY_AND_SELF.with(() -> entity), msg);
   }
 
   /**
@@ -149,6 +235,137 @@ public class NetworkWrapper {
    * @param entity  Entity to check
    */
   public void sendToTracking(Object msg, Entity entity) {
-    this.network.send(PacketDistributor.TRACKING_ENTITY.with(() -> entity), msg);
+    send(PacketDistributor.TRACKING_ENTITY.with(() -> entity), msg);
+  }
+
+
+  /* Batching */
+
+  /** Checks if the given message can be added to a batch */
+  private boolean canBatch(Object msg) {
+    return codecsByClass.containsKey(msg.getClass()) && !(msg instanceof ISimplePacket simple && !simple.canBatch());
+  }
+
+  /** Sends all queued packets */
+  public void flush() {
+    if (queued != null) {
+      List<Entry<ServerPlayer,List<Object>>> entries;
+      synchronized (queued) {
+        entries = List.copyOf(queued.entrySet());
+        queued.clear();
+      }
+      for (Entry<ServerPlayer,List<Object>> entry : entries) {
+        sendQueued(entry.getKey(), entry.getValue());
+      }
+    }
   }
+
+  /** Sends all packets queued for the given player */
+  public void flush(ServerPlayer player) {
+    if (queued != null) {
+      List<Object> messages;
+      synchronized (queued) {
+        messages = queued.remove(player);
+      }
+      if (messages != null) {
+        sendQueued(player, messages);
+      }
+    }
+  }
+
+  /** Sends a message directly to the player */
+  private void sendDirect(Object msg, ServerPlayer player) {
+    network.sendTo(msg, player.connection.connection, NetworkDirection.PLAY_TO_CLIENT);
+  }
+
+  /** Sends a list of queued packets to the player, splitting them into batches under the size limit */
+  @SuppressWarnings("unchecked")
+  private void sendQueued(ServerPlayer player, List<Object> messages) {
+    if (player.hasDisconnected()) {
+      return;
+    }
+    if (messages.size() == 1) {
+      sendDirect(messages.get(0), player);
+      return;
+    }
+    // encode each packet once, the batch writes the encoded bytes
+    FriendlyByteBuf batch = new FriendlyByteBuf(Unpooled.buffer());
+    FriendlyByteBuf inner = new FriendlyByteBuf(Unpooled.buffer());
+    List<Object> batched = new ArrayList<>();
+    for (Object msg : messages) {
+      PacketCodec<Object> codec = (PacketCodec<Object>)codecsByClass.get(msg.getClass());
+      inner.clear();
+      codec.encoder.accept(msg, inner);
+      int length = inner.readableBytes();
+      // index and length are each at most 5 bytes as var ints
+      int size = length + 10;
+      if (size > maxBatchSize) {
+        // too large to batch, send alone after anything before it to keep order
+        sendBatch(player, batched, batch);
+        sendDirect(msg, player);
+        continue;
+      }
+      if (batch.readableBytes() + size > maxBatchSize) {
+        sendBatch(player, batched, batch);
+      }
+      batch.writeVarInt(codec.index);
+      batch.writeVarInt(length);
+      batch.writeBytes(inner);
+      batched.add(msg);
+    }
+    sendBatch(player, batched, batch);
+    inner.release();
+    batch.release();
+  }
+
+  /** Sends the packets batched so far, then clears the batch */
+  private void sendBatch(ServerPlayer player, List<Object> batched, FriendlyByteBuf encoded) {
+    if (batched.size() == 1) {
+      sendDirect(batched.get(0), player);
+    } else if (!batched.isEmpty()) {
+      // the channel encodes the packet immediately, so the buffer may be reused after
+      sendDirect(new BatchPacket(List.copyOf(batched), encoded), player);
+    }
+    batched.clear();
+    encoded.clear();
+  }
+
+  /** Writes all packets in the batch, each prefixed by its codec index and length */
+  private void encodeBatch(BatchPacket batch, FriendlyByteBuf buf) {
+    buf.writeVarInt(batch.messages.size());
+    if (batch.encoded != null) {
+      buf.writeBytes(batch.encoded, batch.encoded.readerIndex(), batch.encoded.readableBytes());
+    }
+  }
+
+  /** Reads all packets in the batch */
+  private BatchPacket decodeBatch(FriendlyByteBuf buf) {
+    int size = buf.readVarInt();
+    List<Object> messages = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      PacketCodec<?> codec = codecs.get(buf.readVarInt());
+      int length = buf.readVarInt();
+      messages.add(codec.decoder.apply(new FriendlyByteBuf(buf.readSlice(length))));
+    }
+    return new BatchPacket(messages, null);
+  }
+
+  /** Handles each packet in the batch in order */
+  @SuppressWarnings("unchecked")
+  private void handleBatch(BatchPacket batch, Supplier<NetworkEvent.Context> context) {
+    for (Object msg : batch.messages) {
+      ((PacketCodec<Object>)codecsByClass.get(msg.getClass())).consumer.accept(msg, context);
+    }
+    context.get().setPacketHandled(true);
+  }
+
+  /** Logic to read, write, and handle a registered packet */
+  private record PacketCodec<MSG>(int index, BiConsumer<MSG,FriendlyByteBuf> encoder, Function<FriendlyByteBuf,MSG> decoder, BiConsumer<MSG,Supplier<NetworkEvent.Context>> consumer) {}
+
+  /**
+   * Packet containing several packets sent in the same tick
+   * @param messages  Packets in the batch
+   * @param encoded   Packets already encoded with their index and length when sending, null when received
+   */
+  private record BatchPacket(List<Object> messages, @Nullable FriendlyByteBuf encoded) {}
 }
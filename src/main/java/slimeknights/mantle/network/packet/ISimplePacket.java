@@ -20,4 +20,12 @@ public interface ISimplePacket {
    * @param context  Packet context
    */
   void handle(Supplier<NetworkEvent.Context> context);
+
+  /**
+   * If false, this packet is sent right away on networks with batching enabled, for packets where latency matters
+   * @return  True if this packet may wait until the end of the tick
+   */
+  default boolean canBatch() {
+    return true;
+  }
 }
@@ -0,0 +1,59 @@
+package slimeknights.mantle.network.packet;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import net.minecraft.client.Minecraft;
+import net.minecraft.core.BlockPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.level.Level;
+import net.minecraftforge.network.NetworkEvent.Context;
+import slimeknights.mantle.block.entity.InventoryBlockEntity;
+
+/**
+ * Packet sent by {@link InventoryBlockEntity#syncDirtySlots()} to update changed slots on the client
+ * @param pos    Block entity position
+ * @param size   New inventory size, or -1 if unchanged
+ * @param slots  Map of slot index to new stack
+ */
+public record InventorySlotsPacket(BlockPos pos, int size, Int2ObjectMap<ItemStack> slots) implements IThreadsafePacket {
+  public InventorySlotsPacket(FriendlyByteBuf buffer) {
+    this(buffer.readBlockPos(), buffer.readVarInt() - 1, readSlots(buffer));
+  }
+
+  /** Reads the slot map from the buffer */
+  private static Int2ObjectMap<ItemStack> readSlots(FriendlyByteBuf buffer) {
+    int count = buffer.readVarInt();
+    Int2ObjectMap<ItemStack> slots = new Int2ObjectArrayMap<>(count);
+    for (int i = 0; i < count; i++) {
+      slots.put(buffer.readVarInt(), buffer.readItem());
+    }
+    return slots;
+  }
+
+  @Override
+  public void encode(FriendlyByteBuf buffer) {
+    buffer.writeBlockPos(pos);
+    // size is offset by 1 as varints are more efficient for positive numbers
+    buffer.writeVarInt(size + 1);
+    buffer.writeVarInt(slots.size());
+    for (Int2ObjectMap.Entry<ItemStack> entry : slots.int2ObjectEntrySet()) {
+      buffer.writeVarInt(entry.getIntKey());
+      buffer.writeItem(entry.getValue());
+    }
+  }
+
+  @Override
+  public void handleThreadsafe(Context context) {
+    HandleClient.handle(this);
+  }
+
+  private static class HandleClient {
+    private static void handle(InventorySlotsPacket packet) {
+      Level level = Minecraft.getInstance().level;
+      if (level != null && level.hasChunkAt(packet.pos) && level.getBlockEntity(packet.pos) instanceof InventoryBlockEntity inventory) {
+        inventory.updateSlots(packet.size, packet.slots);
+      }
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package slimeknights.mantle.network.packet;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkEvent;
+import slimeknights.mantle.network.HashedDatapackSync;
+
+import java.util.function.Supplier;
+
+/**
+ * Packet sent by {@link HashedDatapackSync} with the hash of a channel payload
+ */
+public record SyncHashPacket(ResourceLocation channel, byte[] hash) implements ISimplePacket {
+  public SyncHashPacket(FriendlyByteBuf buffer) {
+    this(buffer.readResourceLocation(), buffer.readByteArray());
+  }
+
+  @Override
+  public void encode(FriendlyByteBuf buf) {
+    buf.writeResourceLocation(channel);
+    buf.writeByteArray(hash);
+  }
+
+  @Override
+  public void handle(Supplier<NetworkEvent.Context> supplier) {
+    NetworkEvent.Context context = supplier.get();
+    context.enqueueWork(() -> HashedDatapackSync.handleHash(channel, hash, supplier));
+    context.setPacketHandled(true);
+  }
+}
@@ -0,0 +1,25 @@
+package slimeknights.mantle.network.packet;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.network.NetworkEvent.Context;
+import slimeknights.mantle.network.HashedDatapackSync;
+
+/**
+ * Packet sent by the client when its {@link HashedDatapackSync} payload is missing or outdated
+ */
+public record SyncRequestPacket(ResourceLocation channel) implements IThreadsafePacket {
+  public SyncRequestPacket(FriendlyByteBuf buffer) {
+    this(buffer.readResourceLocation());
+  }
+
+  @Override
+  public void encode(FriendlyByteBuf buf) {
+    buf.writeResourceLocation(channel);
+  }
+
+  @Override
+  public void handleThreadsafe(Context context) {
+    HashedDatapackSync.handleRequest(channel, context.getSender());
+  }
+}
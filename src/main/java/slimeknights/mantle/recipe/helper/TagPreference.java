@@ -1,14 +1,20 @@
 package slimeknights.mantle.recipe.helper;
 
+import com.mojang.datafixers.util.Pair;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet.Named;
 import net.minecraft.core.Registry;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.tags.TagKey;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.TagsUpdatedEvent;
+import net.minecraftforge.event.TagsUpdatedEvent.UpdateCause;
 import net.minecraftforge.eventbus.api.EventPriority;
+import slimeknights.mantle.Mantle;
 import slimeknights.mantle.config.Config;
-import slimeknights.mantle.util.LogicHelper;
 import slimeknights.mantle.util.RegistryHelper;
 
 import java.util.Comparator;
@@ -29,18 +35,57 @@ public class TagPreference {
 
   /** Cache from any tag key to its value */
   private static final Map<TagKey<?>, Optional<?>> PREFERENCE_CACHE = new ConcurrentHashMap<>();
-  /** Cache of comparator instances, not concurrent because it's only used inside {@link #getUncachedPreference(TagKey)} which is only used inside the concurrent {@link #PREFERENCE_CACHE}. */
+  /** Cache of comparator instances, synchronized as it may be accessed from several threads computing preferences. */
   private static final Map<ResourceKey<?>, RegistryComparator<?>> COMPARATOR_CACHE = new HashMap<>();
 
+  /** Namespace ranks built from the config, rebuilt when the config list changes */
+  private static volatile RankTable rankTable = new RankTable(List.of());
+
   /** Registers the listener with the event bus */
   public static void init() {
-    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, e -> PREFERENCE_CACHE.clear());
+    MinecraftForge.EVENT_BUS.addListener(EventPriority.NORMAL, false, TagsUpdatedEvent.class, TagPreference::onTagsUpdated);
+  }
+
+  /** Clears the cache when tags update, optionally resolving all item tags */
+  private static void onTagsUpdated(TagsUpdatedEvent event) {
+    PREFERENCE_CACHE.clear();
+    if (event.getUpdateCause() == UpdateCause.SERVER_DATA_LOAD && Config.BULK_TAG_PREFERENCES.get()) {
+      resolveAll(Registry.ITEM);
+    }
+  }
+
+  /** Gets the rank of the given namespace, lower is more preferred */
+  private static int getRank(String namespace) {
+    List<? extends String> entries = Config.TAG_PREFERENCES.get();
+    RankTable table = rankTable;
+    if (table.source != entries) {
+      table = new RankTable(entries);
+      rankTable = table;
+    }
+    return table.ranks.getInt(namespace);
   }
 
   /** Gets the comparator for the given registry */
   @SuppressWarnings("unchecked")
   private static <T> Comparator<T> getComparator(Registry<T> registry) {
-    return (Comparator<T>)COMPARATOR_CACHE.computeIfAbsent(registry.key(), k -> new RegistryComparator<>(registry));
+    synchronized (COMPARATOR_CACHE) {
+      return (Comparator<T>)COMPARATOR_CACHE.computeIfAbsent(registry.key(), k -> new RegistryComparator<>(registry));
+    }
+  }
+
+  /**
+   * Resolves the preference for every tag in the registry in parallel, so later lookups do not need to compute it
+   * @param registry  Registry to resolve
+   */
+  public static <T> void resolveAll(Registry<T> registry) {
+    long time = System.nanoTime();
+    Comparator<T> comparator = getComparator(registry);
+    List<Pair<TagKey<T>,Named<T>>> tags = registry.getTags().toList();
+    tags.parallelStream().forEach(pair -> {
+      Optional<T> preference = pair.getSecond().stream().filter(Holder::isBound).map(Holder::value).min(comparator);
+      PREFERENCE_CACHE.put(pair.getFirst(), preference);
+    });
+    Mantle.logger.info("Resolved tag preferences for {} tags in {} in {} ms", tags.size(), registry.key().location(), (System.nanoTime() - time) / 1000000f);
   }
 
   /** Gets the preference from a tag without going through the cache, internal logic behind {@link #getPreference(TagKey)} */
@@ -76,10 +121,8 @@ public class TagPreference {
       ResourceLocation idA = Objects.requireNonNullElse(registry.getKey(a), DEFAULT_ID);
       ResourceLocation idB = Objects.requireNonNullElse(registry.getKey(b), DEFAULT_ID);
       // first compare preferences
-      List<? extends String> entries = Config.TAG_PREFERENCES.get();
-      int size = entries.size();
-      int indexA = LogicHelper.defaultIf(entries.indexOf(idA.getNamespace()), -1, size);
-      int indexB = LogicHelper.defaultIf(entries.indexOf(idB.getNamespace()), -1, size);
+      int indexA = getRank(idA.getNamespace());
+      int indexB = getRank(idB.getNamespace());
       if (indexA != indexB) {
         return Integer.compare(indexA, indexB);
       }
@@ -87,4 +130,16 @@ public class TagPreference {
       return idA.compareNamespaced(idB);
     }
   }
+
+  /** Precomputed namespace ranks from the config list, namespaces not in the list rank after all others */
+  private record RankTable(List<? extends String> source, Object2IntMap<String> ranks) {
+    private RankTable(List<? extends String> source) {
+      this(source, new Object2IntOpenHashMap<>(source.size()));
+      ranks.defaultReturnValue(source.size());
+      // iterate backwards so the first occurrence of a duplicate wins, same as indexOf
+      for (int i = source.size() - 1; i >= 0; i--) {
+        ranks.put(source.get(i), i);
+      }
+    }
+  }
 }
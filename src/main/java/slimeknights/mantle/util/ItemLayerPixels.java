@@ -1,14 +1,18 @@
 package slimeknights.mantle.util;
 
-import java.util.BitSet;
+import java.util.Arrays;
 
 /**
- * Keeps track of used pixels that have been "used" in an item layer model, to prevent z-fighting
+ * Keeps track of used pixels that have been "used" in an item layer model, to prevent z-fighting.
+ * Pixels are stored as a bitmap with each row packed into longs, so whole layers can be merged a word at a time.
  */
 public class ItemLayerPixels {
-  /** Each bitset represents whether pixels are used in the given row */
-  private BitSet[] rows = new BitSet[0];
+  /** Packed bits for all rows, each row is {@link #words} longs long */
+  private long[] bits = new long[0];
   private int width = 0;
+  private int height = 0;
+  /** Number of longs in each row */
+  private int words = 0;
 
   /** Calculates the GCD of two numbers using the Euclidean algorithm */
   private static int gcd(int a, int b) {
@@ -25,63 +29,108 @@ public class ItemLayerPixels {
     return a * (b / gcd(a, b));
   }
 
+  /** Gets the number of longs needed to store a row of the given width */
+  public static int wordsFor(int width) {
+    return (width + 63) >>> 6;
+  }
+
+  /** Checks if the bit is set in a packed bitmap */
+  public static boolean getBit(long[] bits, int rowStart, int x) {
+    return (bits[rowStart + (x >>> 6)] & (1L << x)) != 0;
+  }
+
+  /** Sets the given bit in a packed bitmap */
+  public static void setBit(long[] bits, int rowStart, int x) {
+    bits[rowStart + (x >>> 6)] |= 1L << x;
+  }
+
+  /** Sets all bits from start (inclusive) to end (exclusive) in a packed row */
+  private static void setRange(long[] bits, int rowStart, int start, int end) {
+    if (start >= end) {
+      return;
+    }
+    int startWord = start >>> 6;
+    int endWord = (end - 1) >>> 6;
+    long startMask = -1L << start;
+    long endMask = -1L >>> -end;
+    if (startWord == endWord) {
+      bits[rowStart + startWord] |= startMask & endMask;
+    } else {
+      bits[rowStart + startWord] |= startMask;
+      for (int i = startWord + 1; i < endWord; i++) {
+        bits[rowStart + i] = -1L;
+      }
+      bits[rowStart + endWord] |= endMask;
+    }
+  }
+
+  /**
+   * Stretches a packed row so each bit covers the given number of bits
+   * @param source       Source bitmap
+   * @param sourceStart  Start of the row in the source
+   * @param sourceWords  Number of words in the source row
+   * @param scale        Number of bits to replicate each bit into
+   * @param dest         Destination bitmap, will be OR'ed with the result
+   * @param destStart    Start of the row in the destination
+   */
+  private static void stretchRow(long[] source, int sourceStart, int sourceWords, int scale, long[] dest, int destStart) {
+    if (scale == 1) {
+      for (int i = 0; i < sourceWords; i++) {
+        dest[destStart + i] |= source[sourceStart + i];
+      }
+      return;
+    }
+    for (int i = 0; i < sourceWords; i++) {
+      long word = source[sourceStart + i];
+      while (word != 0) {
+        int bit = Long.numberOfTrailingZeros(word);
+        int start = ((i << 6) + bit) * scale;
+        // merge runs of set bits into a single range
+        int run = Long.numberOfTrailingZeros(~(word >>> bit));
+        setRange(dest, destStart, start, start + run * scale);
+        word &= run == 64 ? 0 : ~((-1L >>> (64 - run)) << bit);
+      }
+    }
+  }
+
   /** Ensures the given size fits for setting */
   private void ensureSizeFits(int checkWidth, int checkHeight) {
     // if the size is currently 0, means we have just not instantiated anything yet, so use the value for the size
-    int oldHeight = this.rows.length;
-    if (oldHeight == 0 || this.width == 0) {
-      this.rows = new BitSet[checkHeight];
+    if (this.height == 0 || this.width == 0) {
       this.width = checkWidth;
-    } else {
-      // first, check that we have enough columns, may need to recreate bit sets if not
-      // width is done first as it reduces the number of clones needed, as width has to clone every object, including those just created by height
-      if (this.width % checkWidth != 0) {
-        int newWidth = lcm(this.width, checkWidth);
-        int xSpacing = newWidth / this.width;
-        // stretch out old columns across the new columns
-        for (int y = 0; y < oldHeight; y++) {
-          BitSet oldRow = this.rows[y];
-          if (oldRow != null) {
-            BitSet newRow = this.rows[y] = new BitSet(newWidth);
-            for (int i : oldRow.stream().toArray()) {
-              int start = i * xSpacing;
-              newRow.set(start, start + xSpacing);
-            }
-          }
-        }
-        this.width = newWidth;
-      }
-      // size is set, so we will have to resize. first check that we have enough rows, may need to create a new array if not
-      if (oldHeight % checkHeight != 0) {
-        int newHeight = lcm(oldHeight, checkHeight);
-        int ySpacing = newHeight / oldHeight;
-        BitSet[] newRows = new BitSet[newHeight];
-        // stretch out all old rows across the new rows
-        for (int y = 0; y < oldHeight; y++) {
-          BitSet oldRow = this.rows[y];
-          if (oldRow != null) {
-            int start = y * ySpacing;
-            newRows[start] = oldRow;
-            for (int i = 1; i < ySpacing; i++) {
-              newRows[start+i] = (BitSet) oldRow.clone();
-            }
-            newRows[y * ySpacing] = oldRow;
-          }
-          this.rows = newRows;
-        }
+      this.height = checkHeight;
+      this.words = wordsFor(checkWidth);
+      this.bits = new long[this.words * checkHeight];
+      return;
+    }
+    // already fits, nothing to do
+    if (this.width % checkWidth == 0 && this.height % checkHeight == 0) {
+      return;
+    }
+    // stretch the old bitmap to a size that both sizes divide evenly
+    int newWidth = this.width % checkWidth == 0 ? this.width : lcm(this.width, checkWidth);
+    int newHeight = this.height % checkHeight == 0 ? this.height : lcm(this.height, checkHeight);
+    int newWords = wordsFor(newWidth);
+    int xSpacing = newWidth / this.width;
+    int ySpacing = newHeight / this.height;
+    long[] newBits = new long[newWords * newHeight];
+    for (int y = 0; y < this.height; y++) {
+      int start = y * ySpacing * newWords;
+      stretchRow(this.bits, y * this.words, this.words, xSpacing, newBits, start);
+      // copy the stretched row into all rows it covers
+      for (int i = 1; i < ySpacing; i++) {
+        System.arraycopy(newBits, start, newBits, start + i * newWords, newWords);
       }
     }
+    this.bits = newBits;
+    this.width = newWidth;
+    this.height = newHeight;
+    this.words = newWords;
   }
 
   /** Checks if the given pixel is set using internal coordinates */
   private boolean getInternal(int x, int y) {
-    if (y <= rows.length) {
-      BitSet set = rows[y];
-      if (set != null) {
-        return set.get(x);
-      }
-    }
-    return false;
+    return getBit(bits, y * words, x);
   }
 
   /**
@@ -94,7 +143,7 @@ public class ItemLayerPixels {
    */
   public boolean get(int x, int y, int width, int height) {
     // if we have no data, obviously not here
-    if (this.rows.length == 0 || this.width == 0) {
+    if (this.height == 0 || this.width == 0) {
       return false;
     }
     // if we cannot cleanly divide by the width, this coordinate does not fit
@@ -102,12 +151,51 @@ public class ItemLayerPixels {
     if (x % width != 0) {
       return false;
     }
-    y *= this.rows.length;
+    y *= this.height;
     if (y % height != 0) {
       return false;
     }
     // finish scaling coordinates
-    return getInternal(x / width, y / height);
+    x /= width;
+    y /= height;
+    if (x >= this.width || y >= this.height) {
+      return false;
+    }
+    return getInternal(x, y);
+  }
+
+  /**
+   * Gets a packed bitmap of all pixels set at the given size, matching {@link #get(int, int, int, int)} for each pixel
+   * @param width   Width of the bitmap
+   * @param height  Height of the bitmap
+   * @return  Bitmap with {@link #wordsFor(int)} longs per row
+   */
+  public long[] getMask(int width, int height) {
+    int maskWords = wordsFor(width);
+    long[] mask = new long[maskWords * height];
+    if (this.height == 0 || this.width == 0) {
+      return mask;
+    }
+    // same size is just a copy
+    if (width == this.width && height == this.height) {
+      System.arraycopy(this.bits, 0, mask, 0, mask.length);
+      return mask;
+    }
+    for (int y = 0; y < height; y++) {
+      int scaledY = y * this.height;
+      if (scaledY % height != 0) {
+        continue;
+      }
+      int rowStart = (scaledY / height) * this.words;
+      int maskStart = y * maskWords;
+      for (int x = 0; x < width; x++) {
+        int scaledX = x * this.width;
+        if (scaledX % width == 0 && getBit(this.bits, rowStart, scaledX / width)) {
+          setBit(mask, maskStart, x);
+        }
+      }
+    }
+    return mask;
   }
 
   /**
@@ -129,23 +217,60 @@ public class ItemLayerPixels {
     // set all bits within a square represented by the "pixel size"
     // for instance, if using 32x textures and we are given a 16x, it will set 2x2 squares
     int xSize = this.width / width;
-    int ySize = this.rows.length / height;
+    int ySize = this.height / height;
     x *= xSize;
     y *= ySize;
     for (int dy = 0; dy < ySize; dy++) {
-      BitSet set = rows[y+dy];
-      if (set == null) {
-        set = rows[y+dy] = new BitSet(this.width);
+      setRange(bits, (y + dy) * words, x, x + xSize);
+    }
+  }
+
+  /**
+   * Sets all pixels in the given packed bitmap, scaling it to fit
+   * @param mask    Bitmap with {@link #wordsFor(int)} longs per row
+   * @param width   Width of the bitmap
+   * @param height  Height of the bitmap
+   */
+  public void setAll(long[] mask, int width, int height) {
+    ensureSizeFits(width, height);
+    int maskWords = wordsFor(width);
+    int xSize = this.width / width;
+    int ySize = this.height / height;
+    for (int y = 0; y < height; y++) {
+      for (int dy = 0; dy < ySize; dy++) {
+        stretchRow(mask, y * maskWords, maskWords, xSize, bits, (y * ySize + dy) * words);
       }
-      set.set(x, x+xSize);
     }
   }
 
+  /** Creates a copy of this pixel map */
+  public ItemLayerPixels copy() {
+    ItemLayerPixels copy = new ItemLayerPixels();
+    copy.bits = this.bits.clone();
+    copy.width = this.width;
+    copy.height = this.height;
+    copy.words = this.words;
+    return copy;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    return other instanceof ItemLayerPixels pixels && this.width == pixels.width && this.height == pixels.height && Arrays.equals(this.bits, pixels.bits);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * (31 * this.width + this.height) + Arrays.hashCode(this.bits);
+  }
+
   @Override
   public String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("ItemLayerPixels:\n");
-    for (int y = 0; y < this.rows.length; y++) {
+    for (int y = 0; y < this.height; y++) {
       StringBuilder rowBuilder = new StringBuilder();
       for (int x = 0; x < this.width; x++) {
         rowBuilder.append(getInternal(x, y) ? 'X' : '_');